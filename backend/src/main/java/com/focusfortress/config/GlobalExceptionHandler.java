@@ -57,6 +57,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    // 503 - Service Unavailable
+    @ExceptionHandler(com.focusfortress.exception.ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailable(RuntimeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", 503);
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     // 403 - Forbidden
     @ExceptionHandler(com.focusfortress.exception.ForbiddenException.class)
     public ResponseEntity<Object> handleForbidden(RuntimeException ex) {
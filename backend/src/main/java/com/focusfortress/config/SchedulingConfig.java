@@ -0,0 +1,19 @@
+package com.focusfortress.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Spring Boot defaults to a single scheduler thread; a long report run must not hold up the email outbox
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer schedulerPoolSize(
+            @Value("${spring.task.scheduling.pool.size:4}") int poolSize) {
+        return scheduler -> scheduler.setPoolSize(poolSize);
+    }
+}
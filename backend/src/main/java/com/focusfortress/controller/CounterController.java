@@ -2,13 +2,14 @@ package com.focusfortress.controller;
 
 import com.focusfortress.dto.CounterDTO;
 import com.focusfortress.model.Counter;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.CounterService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.security.Principal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,15 +24,15 @@ public class CounterController {
     }
 
     @PostMapping
-    public ResponseEntity<CounterDTO> createCounter(@Valid @RequestBody CounterDTO counterDTO, Principal principal) {
-        Counter saved = counterService.createCounter(principal.getName(), counterDTO);
+    public ResponseEntity<CounterDTO> createCounter(@Valid @RequestBody CounterDTO counterDTO, @AuthenticationPrincipal UserPrincipal principal) {
+        Counter saved = counterService.createCounter(principal.getId(), counterDTO);
         URI location = URI.create("/api/counters/" + saved.getId());
         return ResponseEntity.created(location).body(convertToDTO(saved));
     }
 
     @GetMapping
-    public ResponseEntity<List<CounterDTO>> getUserCounters(Principal principal) {
-        List<Counter> counters = counterService.getUserCounters(principal.getName());
+    public ResponseEntity<List<CounterDTO>> getUserCounters(@AuthenticationPrincipal UserPrincipal principal) {
+        List<Counter> counters = counterService.getUserCounters(principal.getId());
         return ResponseEntity.ok(
                 counters.stream()
                         .map(this::convertToDTO)
@@ -40,20 +41,20 @@ public class CounterController {
     }
 
     @GetMapping("/{counterId}")
-    public ResponseEntity<CounterDTO> getCounterById(@PathVariable("counterId") Long counterId, Principal principal) {
-        Counter counter = counterService.getCounterById(counterId, principal.getName());
+    public ResponseEntity<CounterDTO> getCounterById(@PathVariable("counterId") Long counterId, @AuthenticationPrincipal UserPrincipal principal) {
+        Counter counter = counterService.getCounterById(counterId, principal.getId());
         return ResponseEntity.ok(convertToDTO(counter));
     }
 
     @DeleteMapping("/{counterId}")
-    public ResponseEntity<Void> deleteCounter(@PathVariable("counterId") Long counterId, Principal principal) {
-        counterService.deleteCounter(counterId, principal.getName());
+    public ResponseEntity<Void> deleteCounter(@PathVariable("counterId") Long counterId, @AuthenticationPrincipal UserPrincipal principal) {
+        counterService.deleteCounter(counterId, principal.getId());
         return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{counterId}/reset")
-    public ResponseEntity<CounterDTO> resetCounter(@PathVariable("counterId") Long counterId, Principal principal) {
-        Counter updatedCounter = counterService.resetCounter(counterId, principal.getName());
+    public ResponseEntity<CounterDTO> resetCounter(@PathVariable("counterId") Long counterId, @AuthenticationPrincipal UserPrincipal principal) {
+        Counter updatedCounter = counterService.resetCounter(counterId, principal.getId());
         return ResponseEntity.ok(convertToDTO(updatedCounter));
     }
 
@@ -61,8 +62,8 @@ public class CounterController {
     public ResponseEntity<CounterDTO> updateCounter(
             @PathVariable("counterId") Long counterId,
             @Valid @RequestBody CounterDTO counterDTO,
-            Principal principal) {
-        Counter updatedCounter = counterService.updateCounter(counterId, principal.getName(), counterDTO);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Counter updatedCounter = counterService.updateCounter(counterId, principal.getId(), counterDTO);
         return ResponseEntity.ok(convertToDTO(updatedCounter));
     }
 
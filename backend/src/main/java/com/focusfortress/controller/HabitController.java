@@ -1,17 +1,22 @@
 package com.focusfortress.controller;
 
 import com.focusfortress.dto.CategoryTreeDTO;
+import com.focusfortress.dto.HabitHistoryDTO;
 import com.focusfortress.dto.HabitDTO;
 import com.focusfortress.model.Habit;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.HabitService;
 import com.focusfortress.service.HabitProgressService;
+import com.focusfortress.service.IdempotencyKeyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,17 +27,18 @@ public class HabitController {
 
     private final HabitService habitService;
     private final HabitProgressService habitProgressService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
 
     @GetMapping("/tree")
-    public ResponseEntity<List<CategoryTreeDTO>> getHabitsTree(Principal principal) {
-        return ResponseEntity.ok(habitService.getHabitsTree(principal.getName()));
+    public ResponseEntity<List<CategoryTreeDTO>> getHabitsTree(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(habitService.getHabitsTree(principal.getId()));
     }
 
     @GetMapping("/by-category/{categoryId}")
     public ResponseEntity<List<HabitDTO>> getUserHabitsByCategory(
             @PathVariable("categoryId") Long categoryId,
-            Principal principal) {
-        List<Habit> habits = habitService.getUserHabitsByCategory(principal.getName(), categoryId);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<Habit> habits = habitService.getUserHabitsByCategory(principal.getId(), categoryId);
         return ResponseEntity.ok(
                 habits.stream()
                         .map(this::convertToDTO)
@@ -43,8 +49,8 @@ public class HabitController {
     @GetMapping("/by-subcategory/{subcategoryId}")
     public ResponseEntity<List<HabitDTO>> getUserHabitsBySubcategory(
             @PathVariable("subcategoryId") Long subcategoryId,
-            Principal principal) {
-        List<Habit> habits = habitService.getUserHabitsBySubcategory(principal.getName(), subcategoryId);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<Habit> habits = habitService.getUserHabitsBySubcategory(principal.getId(), subcategoryId);
         return ResponseEntity.ok(
                 habits.stream()
                         .map(this::convertToDTO)
@@ -56,9 +62,9 @@ public class HabitController {
     public ResponseEntity<List<HabitDTO>> getUserHabitsByCategoryAndSubcategory(
             @PathVariable("categoryId") Long categoryId,
             @PathVariable("subcategoryId") Long subcategoryId,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
         List<Habit> habits = habitService.getUserHabitsByCategoryAndSubcategory(
-                principal.getName(), categoryId, subcategoryId);
+                principal.getId(), categoryId, subcategoryId);
         return ResponseEntity.ok(
                 habits.stream()
                         .map(this::convertToDTO)
@@ -67,8 +73,8 @@ public class HabitController {
     }
 
     @PostMapping
-    public ResponseEntity<HabitDTO> createHabit(@Valid @RequestBody HabitDTO habitDTO, Principal principal) {
-        Habit saved = habitService.saveHabit(habitDTO, principal.getName());
+    public ResponseEntity<HabitDTO> createHabit(@Valid @RequestBody HabitDTO habitDTO, @AuthenticationPrincipal UserPrincipal principal) {
+        Habit saved = habitService.saveHabit(habitDTO, principal.getId());
         URI location = URI.create("/api/habits/" + saved.getId());
         return ResponseEntity.created(location).body(convertToDTO(saved));
     }
@@ -77,44 +83,49 @@ public class HabitController {
     public ResponseEntity<HabitDTO> updateHabit(
             @PathVariable("habitId") Long habitId,
             @Valid @RequestBody HabitDTO habitDTO,
-            Principal principal) {
-        Habit updated = habitService.updateHabit(habitId, habitDTO, principal.getName());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Habit updated = habitService.updateHabit(habitId, habitDTO, principal.getId());
         return ResponseEntity.ok(convertToDTO(updated));
     }
 
     @GetMapping
-    public ResponseEntity<List<HabitDTO>> getUserHabits(Principal principal) {
-        List<Habit> habits = habitService.getUserHabits(principal.getName());
-
+    public ResponseEntity<List<HabitDTO>> getUserHabits(@AuthenticationPrincipal UserPrincipal principal) {
         // return habits with current streaks
-        return ResponseEntity.ok(
-                habits.stream()
-                        .map(habit -> {
-                            HabitDTO dto = convertToDTO(habit);
-                            dto.setCurrentStreak(
-                                    habitProgressService.getCurrentStreak(habit.getId(), principal.getName())
-                            );
-                            return dto;
-                        })
-                        .collect(Collectors.toList())
-        );
+        return ResponseEntity.ok(habitService.getUserHabitsWithStreaks(principal.getId()));
     }
 
     @DeleteMapping("/{habitId}")
-    public ResponseEntity<Void> deleteHabit(@PathVariable("habitId") Long habitId, Principal principal) {
-        habitService.deleteHabit(habitId, principal.getName());
+    public ResponseEntity<Void> deleteHabit(@PathVariable("habitId") Long habitId, @AuthenticationPrincipal UserPrincipal principal) {
+        habitService.deleteHabit(habitId, principal.getId());
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{habitId}/done")
-    public ResponseEntity<Integer> markHabitDone(@PathVariable("habitId") Long habitId, Principal principal) {
-        int streak = habitProgressService.markDone(habitId, principal.getName());
-        return ResponseEntity.ok(streak);
+    public ResponseEntity<Integer> markHabitDone(
+            @PathVariable("habitId") Long habitId,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(habitProgressService.markDone(habitId, principal.getId()));
+        }
+
+        // A retried request gets the original streak back, even if it arrives on the next day
+        return ResponseEntity.ok(idempotencyKeyStore.execute(principal.getId(), "habit-done:" + habitId, idempotencyKey,
+                Integer.class, () -> habitProgressService.markDone(habitId, principal.getId())));
+    }
+
+    @GetMapping("/{habitId}/history")
+    public ResponseEntity<HabitHistoryDTO> getHistory(
+            @PathVariable("habitId") Long habitId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(habitProgressService.getHistory(habitId, principal.getId(), from, to));
     }
 
     @GetMapping("/{habitId}/streak")
-    public ResponseEntity<Integer> getCurrentStreak(@PathVariable("habitId") Long habitId, Principal principal) {
-        int streak = habitProgressService.getCurrentStreak(habitId, principal.getName());
+    public ResponseEntity<Integer> getCurrentStreak(@PathVariable("habitId") Long habitId, @AuthenticationPrincipal UserPrincipal principal) {
+        int streak = habitProgressService.getCurrentStreak(habitId, principal.getId());
         return ResponseEntity.ok(streak);
     }
 
@@ -1,18 +1,21 @@
 package com.focusfortress.controller;
 
 import com.focusfortress.dto.AddMediaItemDTO;
+import com.focusfortress.dto.MediaLibraryPageDTO;
 import com.focusfortress.dto.UpdateMediaStatusDTO;
 import com.focusfortress.dto.UserMediaItemDTO;
 import com.focusfortress.model.MediaStatus;
+import com.focusfortress.model.Video;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.MediaLibraryService;
+import com.focusfortress.service.VideoCatalogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.security.Principal;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/media/library")
@@ -20,23 +23,36 @@ import java.util.List;
 public class MediaLibraryController {
 
     private final MediaLibraryService mediaLibraryService;
+    private final VideoCatalogService videoCatalogService;
 
     /**
      * GET /api/media/library
-     * Get all media items in user's library
+     * Get a page of media items in user's library, newest first
+     * Pass the returned nextCursor as cursor to get the next page
      */
     @GetMapping
-    public ResponseEntity<List<UserMediaItemDTO>> getUserLibrary(
+    public ResponseEntity<MediaLibraryPageDTO> getUserLibrary(
             @RequestParam(name = "status", required = false) MediaStatus status,
-            Principal principal) {
+            @RequestParam(name = "interest", required = false) String interest,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "24") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        if (status != null) {
-            return ResponseEntity.ok(
-                    mediaLibraryService.getUserLibraryByStatus(principal.getName(), status)
-            );
-        }
+        return ResponseEntity.ok(
+                mediaLibraryService.getLibraryPage(principal.getUsername(), status, interest, cursor, limit)
+        );
+    }
+
+    /**
+     * GET /api/media/library/{id}
+     * Get a single media item with its description and notes
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<UserMediaItemDTO> getMediaItem(
+            @PathVariable("id") Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        return ResponseEntity.ok(mediaLibraryService.getUserLibrary(principal.getName()));
+        return ResponseEntity.ok(mediaLibraryService.getMediaItem(principal.getUsername(), id));
     }
 
     /**
@@ -46,9 +62,11 @@ public class MediaLibraryController {
     @PostMapping
     public ResponseEntity<UserMediaItemDTO> addMediaItem(
             @Valid @RequestBody AddMediaItemDTO dto,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        UserMediaItemDTO created = mediaLibraryService.addMediaItem(principal.getName(), dto);
+        // Before the library transaction: a video new to the catalog is looked up on YouTube
+        Video video = videoCatalogService.getOrCreate(dto.getVideoId());
+        UserMediaItemDTO created = mediaLibraryService.addMediaItem(principal.getId(), principal.getUsername(), video, dto);
         URI location = URI.create("/api/media/library/" + created.getId());
         return ResponseEntity.created(location).body(created);
     }
@@ -61,10 +79,11 @@ public class MediaLibraryController {
     public ResponseEntity<UserMediaItemDTO> updateMediaStatus(
             @PathVariable("id") Long id,
             @Valid @RequestBody UpdateMediaStatusDTO dto,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
         UserMediaItemDTO updated = mediaLibraryService.updateMediaStatus(
-                principal.getName(),
+                principal.getId(),
+                principal.getUsername(),
                 id,
                 dto
         );
@@ -78,9 +97,9 @@ public class MediaLibraryController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMediaItem(
             @PathVariable("id") Long id,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        mediaLibraryService.deleteMediaItem(principal.getName(), id);
+        mediaLibraryService.deleteMediaItem(principal.getId(), principal.getUsername(), id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
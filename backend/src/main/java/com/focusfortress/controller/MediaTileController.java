@@ -1,12 +1,13 @@
 package com.focusfortress.controller;
 
 import com.focusfortress.dto.VideoTileDTO;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.MediaTileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -19,10 +20,10 @@ public class MediaTileController {
     @GetMapping
     public ResponseEntity<List<VideoTileDTO>> getPersonalizedTiles(
             @RequestParam(name = "limit", defaultValue = "12") int limit,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
         return ResponseEntity.ok(
-                mediaTileService.getPersonalizedTiles(principal.getName(), limit)
+                mediaTileService.getPersonalizedTiles(principal.getId(), limit)
         );
     }
 
@@ -35,10 +36,10 @@ public class MediaTileController {
     public ResponseEntity<List<VideoTileDTO>> getCustomTiles(
             @RequestParam(name = "subcategories") List<String> subcategoryNames,
             @RequestParam(name = "limit", defaultValue = "12") int limit,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
         return ResponseEntity.ok(
-                mediaTileService.getTilesBySubcategories(principal.getName(), subcategoryNames, limit)
+                mediaTileService.getTilesBySubcategories(principal.getId(), subcategoryNames, limit)
         );
     }
 }
\ No newline at end of file
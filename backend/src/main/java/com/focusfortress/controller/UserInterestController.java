@@ -3,13 +3,14 @@ package com.focusfortress.controller;
 import com.focusfortress.dto.CustomInterestDTO;
 import com.focusfortress.dto.ManageInterestsDTO;
 import com.focusfortress.dto.UserInterestDTO;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.InterestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -20,29 +21,29 @@ public class UserInterestController {
     private final InterestService interestService;
 
     @GetMapping
-    public ResponseEntity<List<UserInterestDTO>> getMyInterests(Principal principal) {
-        return ResponseEntity.ok(interestService.getUserInterests(principal.getName()));
+    public ResponseEntity<List<UserInterestDTO>> getMyInterests(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(interestService.getUserInterests(principal.getId()));
     }
 
     @PutMapping
     public ResponseEntity<List<UserInterestDTO>> manageMyInterests(
             @Valid @RequestBody ManageInterestsDTO dto,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
         if (!dto.isValid()) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<UserInterestDTO> updated = interestService.manageUserInterests(principal.getName(), dto);
+        List<UserInterestDTO> updated = interestService.manageUserInterests(principal.getId(), dto);
         return ResponseEntity.ok(updated);
     }
 
     @PostMapping("/custom")
     public ResponseEntity<UserInterestDTO> addCustomInterest(
             @Valid @RequestBody CustomInterestDTO dto,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
         UserInterestDTO created = interestService.addCustomInterest(
-                principal.getName(),
+                principal.getId(),
                 dto.getName(),
                 dto.getEmoji()
         );
@@ -52,8 +53,8 @@ public class UserInterestController {
     @DeleteMapping("/{interestId}")
     public ResponseEntity<Void> deleteInterest(
             @PathVariable("interestId") Long interestId,
-            Principal principal) {
-        interestService.deleteUserInterest(principal.getName(), interestId);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        interestService.deleteUserInterest(principal.getId(), interestId);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -5,14 +5,15 @@ import com.focusfortress.dto.UserProfileDTO;
 import com.focusfortress.model.ReportSettings;
 import com.focusfortress.model.User;
 import com.focusfortress.repository.UserRepository;
+import com.focusfortress.security.AuthenticatedPrincipalCache;
+import com.focusfortress.security.UserPrincipal;
 import com.focusfortress.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
@@ -20,10 +21,12 @@ public class UserProfileController {
 
     private final UserRepository userRepository;
     private final ReportService reportService;
+    private final AuthenticatedPrincipalCache principalCache;
 
     @GetMapping("/profile")
-    public ResponseEntity<UserProfileDTO> getUserProfile(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
+    public ResponseEntity<UserProfileDTO> getUserProfile(@AuthenticationPrincipal UserPrincipal principal) {
+        // The principal only carries the id: the profile is read fresh, not from a cached token
+        User user = userRepository.findById(principal.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         UserProfileDTO profileDTO = new UserProfileDTO(
@@ -39,10 +42,11 @@ public class UserProfileController {
     @PutMapping("/profile")
     public ResponseEntity<UserProfileDTO> updateUserProfile(
             @Valid @RequestBody UserProfileDTO profileDTO,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        User user = userRepository.findByEmail(principal.getName())
+        User user = userRepository.findById(principal.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String previousEmail = user.getEmail();
 
         user.setName(profileDTO.getName());
         user.setEmail(profileDTO.getEmail());
@@ -51,42 +55,31 @@ public class UserProfileController {
 
         userRepository.save(user);
 
+        // Tokens cached for this user carry the old profile
+        principalCache.invalidate(previousEmail);
+        principalCache.invalidate(user.getEmail());
+
         return ResponseEntity.ok(profileDTO);
     }
 
     // Report Settings endpoints
     @GetMapping("/report-settings")
-    public ResponseEntity<ReportSettingsDTO> getReportSettings(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        ReportSettings settings = reportService.getReportSettings(user);
+    public ResponseEntity<ReportSettingsDTO> getReportSettings(@AuthenticationPrincipal UserPrincipal principal) {
+        ReportSettings settings = reportService.getReportSettings(principal.getId());
 
         if (settings == null) {
             return ResponseEntity.notFound().build();
         }
 
-        ReportSettingsDTO dto = new ReportSettingsDTO();
-        dto.setIncludeActiveHabits(settings.isIncludeActiveHabits());
-        dto.setIncludeCompletedHabits(settings.isIncludeCompletedHabits());
-        dto.setIncludeInterests(settings.isIncludeInterests());
-        dto.setIncludeMediaLibrary(settings.isIncludeMediaLibrary());
-        dto.setIncludeCounters(settings.isIncludeCounters());
-        dto.setAutomaticReports(settings.isAutomaticReports());
-        dto.setReportFrequency(settings.getReportFrequency());
-
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(ReportSettingsDTO.fromEntity(settings));
     }
 
     @PostMapping("/report-settings")
     public ResponseEntity<String> saveReportSettings(
             @RequestBody ReportSettingsDTO settingsDTO,
-            Principal principal) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        reportService.saveReportSettings(user, settingsDTO);
+        reportService.saveReportSettings(principal.getId(), settingsDTO);
 
         return ResponseEntity.ok("Report settings saved successfully");
     }
@@ -94,12 +87,9 @@ public class UserProfileController {
     @PostMapping("/generate-report")
     public ResponseEntity<String> generateReport(
             @RequestBody ReportSettingsDTO settingsDTO,
-            Principal principal) {
-
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        reportService.generateAndSendReport(user, settingsDTO);
+        reportService.generateAndSendReport(principal.getId(), settingsDTO);
 
         return ResponseEntity.ok("Report generated and sent to your email");
     }
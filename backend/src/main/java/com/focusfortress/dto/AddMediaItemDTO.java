@@ -11,18 +11,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AddMediaItemDTO {
 
+    // Title, channel and thumbnail come from YouTube, not from the request
     @NotBlank(message = "Video ID is required")
     private String videoId;
 
-    @NotBlank(message = "Title is required")
-    private String title;
-
-    private String channelTitle;
-
-    private String thumbnailUrl;
-
-    private String description;
-
     private String matchedInterest;
 
     private MediaStatus status = MediaStatus.WATCH_LATER;
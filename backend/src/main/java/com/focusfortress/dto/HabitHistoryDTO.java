@@ -0,0 +1,20 @@
+package com.focusfortress.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Done days of a habit between {@code from} and {@code to} (inclusive) as a bitset: bit i of {@code done}
+ * is set if the habit was done on {@code from} plus i days. Bits are packed little-endian (day i is bit
+ * i % 8 of byte i / 8) and the bytes are Base64 encoded, so a year of history takes 64 characters.
+ */
+@Getter
+@Setter
+public class HabitHistoryDTO {
+    private Long habitId;
+    private String from;
+    private String to;
+    private int days;
+    private int doneDays;
+    private String done;
+}
@@ -0,0 +1,27 @@
+package com.focusfortress.dto;
+
+import com.focusfortress.model.MediaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Library list entry; description and notes come with the item itself ({@link UserMediaItemDTO}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaLibraryItemDTO {
+
+    private Long id;
+    private String videoId;
+    private String title;
+    private String channelTitle;
+    private String thumbnailUrl;
+    private String matchedInterest;
+    private MediaStatus status;
+    private LocalDateTime addedAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.focusfortress.dto;
 
+import com.focusfortress.model.ReportSettings;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -17,5 +18,17 @@ public class ReportSettingsDTO {
     private boolean includeCounters = true;
     private boolean automaticReports = false;
     private String reportFrequency = "weekly"; // "weekly" or "monthly"
+
+    public static ReportSettingsDTO fromEntity(ReportSettings settings) {
+        ReportSettingsDTO dto = new ReportSettingsDTO();
+        dto.setIncludeActiveHabits(settings.isIncludeActiveHabits());
+        dto.setIncludeCompletedHabits(settings.isIncludeCompletedHabits());
+        dto.setIncludeInterests(settings.isIncludeInterests());
+        dto.setIncludeMediaLibrary(settings.isIncludeMediaLibrary());
+        dto.setIncludeCounters(settings.isIncludeCounters());
+        dto.setAutomaticReports(settings.isAutomaticReports());
+        dto.setReportFrequency(settings.getReportFrequency());
+        return dto;
+    }
 }
 
@@ -1,10 +1,16 @@
 package com.focusfortress.mapper;
 
+import com.focusfortress.dto.HabitHistoryDTO;
 import com.focusfortress.dto.HabitProgressDTO;
 import com.focusfortress.model.Habit;
 import com.focusfortress.model.HabitProgress;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
 
 public class HabitProgressMapper {
 
@@ -21,4 +27,22 @@ public class HabitProgressMapper {
         dto.setDate(progress.getDate().toString());
         return dto;
     }
+
+    public static HabitHistoryDTO toHistoryDTO(Long habitId, LocalDate from, LocalDate to, Collection<LocalDate> doneDates) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        BitSet done = new BitSet(days);
+        for (LocalDate date : doneDates) {
+            done.set((int) ChronoUnit.DAYS.between(from, date));
+        }
+
+        HabitHistoryDTO dto = new HabitHistoryDTO();
+        dto.setHabitId(habitId);
+        dto.setFrom(from.toString());
+        dto.setTo(to.toString());
+        dto.setDays(days);
+        dto.setDoneDays(done.cardinality());
+        // toByteArray drops trailing empty bytes; pad so the length always matches the range
+        dto.setDone(Base64.getEncoder().encodeToString(Arrays.copyOf(done.toByteArray(), (days + 7) / 8)));
+        return dto;
+    }
 }
\ No newline at end of file
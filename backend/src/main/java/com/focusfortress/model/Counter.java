@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "counters",
-        uniqueConstraints = @UniqueConstraint(name = "uk_counters_user_name", columnNames = {"user_id", "name"})
+        uniqueConstraints = @UniqueConstraint(name = "uk_counters_user_name", columnNames = {"user_id", "name"}),
+        indexes = @Index(name = "idx_counters_user_start", columnList = "user_id, start_date_time")
 )
 @Getter
 @Setter
@@ -0,0 +1,77 @@
+package com.focusfortress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting for (or done with) delivery. Rows are written in the same transaction as the
+ * change that triggered them and drained by {@code EmailOutboxDispatcher}.
+ */
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {
+                @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_email_outbox_claim_token", columnList = "claim_token"),
+                @Index(name = "idx_email_outbox_status_sent", columnList = "status, sent_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    // Whole emails do not fit a VARCHAR; matches the column created by V3__email_outbox.sql
+    @Column(nullable = false, columnDefinition = "mediumtext")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Earliest time the next delivery attempt may start; also serves as the lease of a claimed message
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Random token of the dispatcher run that holds the lease
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = EmailOutboxStatus.PENDING;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.focusfortress.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
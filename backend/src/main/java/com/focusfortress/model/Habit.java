@@ -5,8 +5,18 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Entity
-@Table(name = "habits")
+@Table(
+        name = "habits",
+        indexes = {
+                @Index(name = "idx_habits_user_name", columnList = "user_id, name"),
+                @Index(name = "idx_habits_user_category_subcategory", columnList = "user_id, category_id, subcategory_id"),
+                @Index(name = "idx_habits_user_subcategory", columnList = "user_id, subcategory_id"),
+                @Index(name = "idx_habits_user_done", columnList = "user_id, done")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -46,4 +56,13 @@ public class Habit {
 
     @Column(nullable = false)
     private boolean done = false;
+
+    // Streak state maintained by HabitProgressService.markDone, rebuilt nightly from habit_progress
+    @Column(nullable = false)
+    private int currentStreak;
+
+    @Column(nullable = false)
+    private int longestStreak;
+
+    private LocalDate lastDoneDate;
 }
\ No newline at end of file
@@ -6,13 +6,18 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "habit_progress")
+@Table(
+        name = "habit_progress",
+        uniqueConstraints = @UniqueConstraint(name = HabitProgress.HABIT_DATE_UNIQUE_KEY, columnNames = {"habit_id", "date"})
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class HabitProgress {
 
+    public static final String HABIT_DATE_UNIQUE_KEY = "uk_habit_progress_habit_date";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,53 @@
+package com.focusfortress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one automatic report run, i.e. one frequency ("weekly"/"monthly") and period in one timezone:
+ * the period starts at midnight in that zone, for the users whose timezone it is.
+ * {@code lastSettingsId} is the checkpoint a restarted run resumes after.
+ */
+@Entity
+@Table(
+        name = "report_runs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_runs_frequency_period_timezone",
+                columnNames = {"frequency", "period_start", "timezone"})
+)
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReportRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String frequency;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 64)
+    private String timezone;
+
+    @Column(nullable = false)
+    private long lastSettingsId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -6,8 +6,13 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "report_settings")
+@Table(
+        name = "report_settings",
+        indexes = @Index(name = "idx_report_settings_automatic", columnList = "automatic_reports, report_frequency, id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,5 +47,9 @@ public class ReportSettings {
 
     @Column(name = "report_frequency")
     private String reportFrequency = "weekly"; // "weekly" or "monthly"
+
+    // When the last automatic report was sent; a user is due again once a new period has started
+    @Column(name = "last_report_at")
+    private LocalDateTime lastReportAt;
 }
 
@@ -11,7 +11,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users", uniqueConstraints = {@UniqueConstraint(columnNames = "email")})
+@Table(name = "users", uniqueConstraints = {@UniqueConstraint(columnNames = "email")},
+        indexes = @Index(name = "idx_users_verification_token", columnList = "verification_token"))
 @Getter
 @Setter
 @NoArgsConstructor
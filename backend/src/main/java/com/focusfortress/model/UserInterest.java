@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "user_interests",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "subcategory_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "subcategory_id"}),
+        indexes = @Index(name = "idx_user_interests_user_selected", columnList = "user_id, selected_at"))
 @Getter
 @Setter
 @NoArgsConstructor
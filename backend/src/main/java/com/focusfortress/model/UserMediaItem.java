@@ -8,29 +8,25 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_media_library")
+@Table(name = "user_media_library", indexes = {
+        @Index(name = "idx_user_media_library_user_added", columnList = "user_email, added_at, id"),
+        @Index(name = "idx_user_media_library_user_status_added", columnList = "user_email, status, added_at, id"),
+        @Index(name = "idx_user_media_library_user_video", columnList = "user_email, video_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserMediaItem {
 
+    public static final String VIDEO_FOREIGN_KEY = "fk_user_media_library_video";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String videoId;
-
-    @Column(nullable = false)
-    private String title;
-
-    private String channelTitle;
-
-    @Column(length = 500)
-    private String thumbnailUrl;
-
-    @Column(length = 1000)
-    private String description;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "video_id", nullable = false, foreignKey = @ForeignKey(name = VIDEO_FOREIGN_KEY))
+    private Video video;
 
     private String matchedInterest;
 
@@ -0,0 +1,67 @@
+package com.focusfortress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user summary counts, kept up to date by the services that write the underlying rows and
+ * verified against them by {@code UserStatsReconciliationJob}.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int activeHabits;
+
+    @Column(nullable = false)
+    private int completedHabits;
+
+    @Column(nullable = false)
+    private int mediaWatchLater;
+
+    @Column(nullable = false)
+    private int mediaCurrentlyWatching;
+
+    @Column(nullable = false)
+    private int mediaFinished;
+
+    @Column(nullable = false)
+    private int counters;
+
+    @Column(nullable = false)
+    private int interests;
+
+    public int getMediaTotal() {
+        return mediaWatchLater + mediaCurrentlyWatching + mediaFinished;
+    }
+
+    public boolean sameCountsAs(UserStats other) {
+        return activeHabits == other.activeHabits
+                && completedHabits == other.completedHabits
+                && mediaWatchLater == other.mediaWatchLater
+                && mediaCurrentlyWatching == other.mediaCurrentlyWatching
+                && mediaFinished == other.mediaFinished
+                && counters == other.counters
+                && interests == other.interests;
+    }
+
+    public void copyCountsFrom(UserStats other) {
+        activeHabits = other.activeHabits;
+        completedHabits = other.completedHabits;
+        mediaWatchLater = other.mediaWatchLater;
+        mediaCurrentlyWatching = other.mediaCurrentlyWatching;
+        mediaFinished = other.mediaFinished;
+        counters = other.counters;
+        interests = other.interests;
+    }
+}
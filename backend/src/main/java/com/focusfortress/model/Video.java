@@ -0,0 +1,67 @@
+package com.focusfortress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared catalog entry of a YouTube video; media library items reference it instead of copying its metadata.
+ */
+@Entity
+@Table(name = "videos")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Video implements Persistable<String> {
+
+    @Id
+    @Column(name = "video_id", length = 64)
+    private String videoId;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String channelTitle;
+
+    @Column(length = 500)
+    private String thumbnailUrl;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // The id is assigned, so saving a new video would otherwise cost a SELECT to tell insert from update
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return videoId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -2,10 +2,33 @@ package com.focusfortress.repository;
 
 import com.focusfortress.model.Counter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CounterRepository extends JpaRepository<Counter, Long> {
     boolean existsByUserIdAndName(Long userId, String name);
     List<Counter> findByUserId(Long userId);
+    Optional<Counter> findByIdAndUserId(Long id, Long userId);
+
+    // Counter with the MIN(start_date_time), i.e. the longest running one
+    Optional<Counter> findFirstByUserIdOrderByStartDateTimeAsc(Long userId);
+
+    @Query("SELECT c.user.id, COUNT(c) FROM Counter c WHERE c.user.id IN :userIds GROUP BY c.user.id")
+    List<Object[]> countForUsers(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE Counter c SET c.startDateTime = :startDateTime WHERE c.id = :id AND c.user.id = :userId")
+    int updateStartDateTimeByIdAndUserId(@Param("id") Long id,
+                                         @Param("userId") Long userId,
+                                         @Param("startDateTime") LocalDateTime startDateTime);
+
+    @Modifying
+    @Query("DELETE FROM Counter c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
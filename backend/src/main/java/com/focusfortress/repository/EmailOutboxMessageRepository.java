@@ -0,0 +1,65 @@
+package com.focusfortress.repository;
+
+import com.focusfortress.model.EmailOutboxMessage;
+import com.focusfortress.model.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmailOutboxMessageRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    long countByStatus(EmailOutboxStatus status);
+
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<Long> findDueIds(@Param("status") EmailOutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only rows still due are leased, so two dispatchers never claim the same message. Clears the persistence
+    // context so the claimed messages are read back with their token
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :leaseUntil, m.claimToken = :claimToken " +
+            "WHERE m.id IN :ids AND m.status = :status AND m.nextAttemptAt <= :now")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("status") EmailOutboxStatus status,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("claimToken") String claimToken);
+
+    List<EmailOutboxMessage> findByClaimToken(String claimToken);
+
+    Optional<EmailOutboxMessage> findByIdAndClaimToken(Long id, String claimToken);
+
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status = :status AND m.sentAt < :before ORDER BY m.id")
+    List<Long> findSentIdsBefore(@Param("status") EmailOutboxStatus status,
+                                 @Param("before") LocalDateTime before,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The outcome is only recorded while the claim still holds the lease: once it ran out, the message
+    // belongs to whichever dispatcher claimed it next
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.sentAt = :sentAt, m.attempts = m.attempts + 1, " +
+            "m.lastError = null, m.claimToken = null WHERE m.id IN :ids AND m.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("claimToken") String claimToken,
+                 @Param("status") EmailOutboxStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, m.lastError = :lastError, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.claimToken = null WHERE m.id = :id AND m.claimToken = :claimToken")
+    int markFailed(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("lastError") String lastError,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -1,15 +1,26 @@
 package com.focusfortress.repository;
 
-import com.focusfortress.model.Habit;
 import com.focusfortress.model.HabitProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
-public interface HabitProgressRepository extends JpaRepository<HabitProgress, Long> {
-    List<HabitProgress> findByHabitOrderByDateDesc(Habit habit);
-    Optional<HabitProgress> findByHabitAndDate(Habit habit, LocalDate date);
-    void deleteByHabitId(Long habitId);
-}
\ No newline at end of file
+public interface HabitProgressRepository extends JpaRepository<HabitProgress, Long>, HabitProgressRepositoryCustom {
+    @Modifying
+    @Query("DELETE FROM HabitProgress hp WHERE hp.habit.id IN " +
+            "(SELECT h.id FROM Habit h WHERE h.id = :habitId AND h.user.id = :userId)")
+    int deleteByHabitIdAndUserId(@Param("habitId") Long habitId, @Param("userId") Long userId);
+
+    @Query("SELECT hp.date FROM HabitProgress hp WHERE hp.habit.id = :habitId AND hp.date BETWEEN :from AND :to")
+    List<LocalDate> findDatesByHabitIdBetween(@Param("habitId") Long habitId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+
+    @Query("SELECT hp.habit.id, hp.date FROM HabitProgress hp WHERE hp.habit.id IN :habitIds ORDER BY hp.habit.id, hp.date DESC")
+    List<Object[]> findDatesByHabitIdsOrderByDateDesc(@Param("habitIds") Collection<Long> habitIds);
+}
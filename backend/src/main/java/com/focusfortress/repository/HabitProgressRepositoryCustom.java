@@ -0,0 +1,12 @@
+package com.focusfortress.repository;
+
+import java.time.LocalDate;
+
+public interface HabitProgressRepositoryCustom {
+
+    /**
+     * Records the day unless the (habit_id, date) unique key says it already is; {@code false} in that case.
+     * Any other failure, e.g. a habit deleted meanwhile, is thrown.
+     */
+    boolean insertIfAbsent(Long habitId, LocalDate date);
+}
@@ -0,0 +1,26 @@
+package com.focusfortress.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+class HabitProgressRepositoryImpl implements HabitProgressRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // A plain INSERT rather than INSERT IGNORE, which would also swallow foreign key and other errors.
+    // Run through JdbcTemplate on the transaction's connection: the duplicate only fails this statement,
+    // whereas through JPA it would mark the whole transaction for rollback.
+    @Override
+    public boolean insertIfAbsent(Long habitId, LocalDate date) {
+        try {
+            jdbcTemplate.update("INSERT INTO habit_progress (habit_id, date) VALUES (?, ?)", habitId, date);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
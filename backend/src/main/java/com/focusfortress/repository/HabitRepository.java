@@ -1,16 +1,59 @@
 package com.focusfortress.repository;
 
 import com.focusfortress.model.Habit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface HabitRepository extends JpaRepository<Habit, Long> {
     List<Habit> findByUserId(Long userId);
     boolean existsByUserIdAndName(Long userId, String name);
-    List<Habit> findByUserIdAndCategoryId(Long userId, Long categoryId);
-    List<Habit> findByUserIdAndSubcategoryId(Long userId, Long subcategoryId);
-    List<Habit> findByUserIdAndCategoryIdAndSubcategoryId(Long userId, Long categoryId, Long subcategoryId);
     Optional<Habit> findByIdAndUserId(Long id, Long userId);
+    List<Habit> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Compared on the foreign keys: derived queries outer-join categories and subcategories to read their ids,
+    // which keeps the (user_id, category_id, subcategory_id) indexes from being used
+    @Query("SELECT h FROM Habit h WHERE h.user.id = :userId AND h.category.id = :categoryId")
+    List<Habit> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    @Query("SELECT h FROM Habit h WHERE h.user.id = :userId AND h.subcategory.id = :subcategoryId")
+    List<Habit> findByUserIdAndSubcategoryId(@Param("userId") Long userId, @Param("subcategoryId") Long subcategoryId);
+
+    @Query("SELECT h FROM Habit h WHERE h.user.id = :userId AND h.category.id = :categoryId " +
+            "AND h.subcategory.id = :subcategoryId")
+    List<Habit> findByUserIdAndCategoryIdAndSubcategoryId(@Param("userId") Long userId,
+                                                          @Param("categoryId") Long categoryId,
+                                                          @Param("subcategoryId") Long subcategoryId);
+
+    @Query("SELECT h.done FROM Habit h WHERE h.id = :id AND h.user.id = :userId")
+    Optional<Boolean> findDoneByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT h.user.id, h.done, COUNT(h) FROM Habit h WHERE h.user.id IN :userIds GROUP BY h.user.id, h.done")
+    List<Object[]> countByDoneForUsers(@Param("userIds") Collection<Long> userIds);
+
+    // Only applies while the row still holds the streak state the new values were computed from, so a
+    // markDone committed in the meantime is not overwritten
+    @Modifying
+    @Query("UPDATE Habit h SET h.currentStreak = :currentStreak, h.longestStreak = :longestStreak, " +
+            "h.lastDoneDate = :lastDoneDate " +
+            "WHERE h.id = :id AND h.currentStreak = :readCurrentStreak AND h.longestStreak = :readLongestStreak " +
+            "AND (h.lastDoneDate = :readLastDoneDate OR (h.lastDoneDate IS NULL AND :readLastDoneDate IS NULL))")
+    int updateStreakStateIfUnchanged(@Param("id") Long id,
+                                     @Param("readCurrentStreak") int readCurrentStreak,
+                                     @Param("readLongestStreak") int readLongestStreak,
+                                     @Param("readLastDoneDate") LocalDate readLastDoneDate,
+                                     @Param("currentStreak") int currentStreak,
+                                     @Param("longestStreak") int longestStreak,
+                                     @Param("lastDoneDate") LocalDate lastDoneDate);
+
+    @Modifying
+    @Query("DELETE FROM Habit h WHERE h.id = :id AND h.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.focusfortress.repository;
+
+import com.focusfortress.model.ReportRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface ReportRunRepository extends JpaRepository<ReportRun, Long> {
+    Optional<ReportRun> findByFrequencyAndPeriodStartAndTimezone(String frequency, LocalDate periodStart, String timezone);
+}
@@ -1,15 +1,43 @@
 package com.focusfortress.repository;
 
 import com.focusfortress.model.ReportSettings;
-import com.focusfortress.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReportSettingsRepository extends JpaRepository<ReportSettings, Long> {
-    Optional<ReportSettings> findByUser(User user);
     Optional<ReportSettings> findByUserId(Long userId);
+
+    // Users without a timezone are returned as ''
+    @Query("SELECT DISTINCT COALESCE(u.timezone, '') FROM ReportSettings rs JOIN rs.user u " +
+            "WHERE rs.automaticReports = true AND rs.reportFrequency = :frequency")
+    List<String> findAutomaticReportTimezones(@Param("frequency") String frequency);
+
+    @Query("SELECT rs FROM ReportSettings rs JOIN FETCH rs.user u " +
+            "WHERE rs.automaticReports = true AND rs.reportFrequency = :frequency " +
+            "AND COALESCE(u.timezone, '') IN :timezones AND rs.id > :afterId " +
+            "AND (rs.lastReportAt IS NULL OR rs.lastReportAt < :periodStart) ORDER BY rs.id")
+    List<ReportSettings> findDueForAutomaticReport(@Param("frequency") String frequency,
+                                                   @Param("timezones") Collection<String> timezones,
+                                                   @Param("periodStart") LocalDateTime periodStart,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    // Claims the user's report for the period; 0 means it was already sent
+    @Modifying
+    @Query("UPDATE ReportSettings rs SET rs.lastReportAt = :now " +
+            "WHERE rs.id = :id AND (rs.lastReportAt IS NULL OR rs.lastReportAt < :periodStart)")
+    int markReported(@Param("id") Long id,
+                     @Param("periodStart") LocalDateTime periodStart,
+                     @Param("now") LocalDateTime now);
 }
 
@@ -2,6 +2,7 @@ package com.focusfortress.repository;
 
 import com.focusfortress.model.Subcategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,5 +11,7 @@ public interface SubcategoryRepository extends JpaRepository<Subcategory, Long>
     List<Subcategory> findByCategoryId(Long categoryId);
     boolean existsByNameAndCategoryId(String name, Long categoryId);
     Optional<Subcategory> findByNameAndCategoryId(String name, Long categoryId);
-    Optional<Subcategory> findByName(String name);
+
+    @Query("SELECT s FROM Subcategory s JOIN FETCH s.category ORDER BY s.id")
+    List<Subcategory> findAllWithCategory();
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserInterestRepository extends JpaRepository<UserInterest, Long> {
@@ -15,6 +16,16 @@ public interface UserInterestRepository extends JpaRepository<UserInterest, Long
 
     void deleteByUserIdAndSubcategoryId(Long userId, Long subcategoryId);
 
+    @Query("SELECT s.name, s.icon, c.name FROM UserInterest ui JOIN ui.subcategory s JOIN s.category c " +
+            "WHERE ui.user.id = :userId ORDER BY ui.selectedAt DESC")
+    List<Object[]> findInterestSummariesByUserId(@Param("userId") Long userId);
+
     @Query("SELECT COUNT(ui) FROM UserInterest ui WHERE ui.user.id = :userId")
     long countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT ui.user.id, COUNT(ui) FROM UserInterest ui WHERE ui.user.id IN :userIds GROUP BY ui.user.id")
+    List<Object[]> countForUsers(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT s.name, COUNT(ui) FROM UserInterest ui JOIN ui.subcategory s GROUP BY s.name")
+    List<Object[]> countBySubcategoryName();
 }
\ No newline at end of file
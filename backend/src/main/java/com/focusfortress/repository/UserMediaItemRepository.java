@@ -1,21 +1,67 @@
 package com.focusfortress.repository;
 
+import com.focusfortress.dto.MediaLibraryItemDTO;
 import com.focusfortress.model.MediaStatus;
 import com.focusfortress.model.UserMediaItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserMediaItemRepository extends JpaRepository<UserMediaItem, Long> {
 
-    List<UserMediaItem> findByUserEmailOrderByAddedAtDesc(String userEmail);
+    /**
+     * Newest first, ordered by (addedAt, id) so that a page continues strictly after the given position.
+     * Null filters and a null position (first page) are ignored.
+     */
+    @Query("SELECT new com.focusfortress.dto.MediaLibraryItemDTO(m.id, v.videoId, v.title, v.channelTitle, " +
+            "v.thumbnailUrl, m.matchedInterest, m.status, m.addedAt, m.updatedAt) " +
+            "FROM UserMediaItem m JOIN m.video v " +
+            "WHERE m.userEmail = :userEmail " +
+            "AND (:interest IS NULL OR m.matchedInterest = :interest) " +
+            "AND (:afterAddedAt IS NULL OR m.addedAt < :afterAddedAt " +
+            "OR (m.addedAt = :afterAddedAt AND m.id < :afterId)) " +
+            "ORDER BY m.addedAt DESC, m.id DESC")
+    List<MediaLibraryItemDTO> findLibraryPage(@Param("userEmail") String userEmail,
+                                              @Param("interest") String interest,
+                                              @Param("afterAddedAt") LocalDateTime afterAddedAt,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
 
-    List<UserMediaItem> findByUserEmailAndStatus(String userEmail, MediaStatus status);
+    /**
+     * {@link #findLibraryPage} of one status. A separate query rather than a nullable filter, so that the
+     * status is an equality the (userEmail, status, addedAt, id) index can seek on.
+     */
+    @Query("SELECT new com.focusfortress.dto.MediaLibraryItemDTO(m.id, v.videoId, v.title, v.channelTitle, " +
+            "v.thumbnailUrl, m.matchedInterest, m.status, m.addedAt, m.updatedAt) " +
+            "FROM UserMediaItem m JOIN m.video v " +
+            "WHERE m.userEmail = :userEmail " +
+            "AND m.status = :status " +
+            "AND (:interest IS NULL OR m.matchedInterest = :interest) " +
+            "AND (:afterAddedAt IS NULL OR m.addedAt < :afterAddedAt " +
+            "OR (m.addedAt = :afterAddedAt AND m.id < :afterId)) " +
+            "ORDER BY m.addedAt DESC, m.id DESC")
+    List<MediaLibraryItemDTO> findLibraryPageByStatus(@Param("userEmail") String userEmail,
+                                                      @Param("status") MediaStatus status,
+                                                      @Param("interest") String interest,
+                                                      @Param("afterAddedAt") LocalDateTime afterAddedAt,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
 
+    @EntityGraph(attributePaths = "video")
     Optional<UserMediaItem> findByIdAndUserEmail(Long id, String userEmail);
 
-    boolean existsByUserEmailAndVideoId(String userEmail, String videoId);
+    boolean existsByUserEmailAndVideoVideoId(String userEmail, String videoId);
+
+    @Query("SELECT m.userEmail, m.status, COUNT(m) FROM UserMediaItem m WHERE m.userEmail IN :userEmails " +
+            "GROUP BY m.userEmail, m.status")
+    List<Object[]> countByStatusForUsers(@Param("userEmails") Collection<String> userEmails);
 }
\ No newline at end of file
@@ -2,12 +2,23 @@ package com.focusfortress.repository;
 
 import com.focusfortress.model.Role;
 import com.focusfortress.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByVerificationToken(String token);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.timezone FROM User u WHERE u.id = :id")
+    Optional<String> findTimezoneById(@Param("id") Long id);
+
+    @Query("SELECT u.id, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findIdsAndEmailsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
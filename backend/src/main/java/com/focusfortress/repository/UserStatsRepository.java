@@ -0,0 +1,41 @@
+package com.focusfortress.repository;
+
+import com.focusfortress.model.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    // Locks the rows so increments from concurrent writes wait until a reconciliation batch commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<UserStats> findByUserIdIn(Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.activeHabits = s.activeHabits + :active, " +
+            "s.completedHabits = s.completedHabits + :completed WHERE s.userId = :userId")
+    int adjustHabits(@Param("userId") Long userId, @Param("active") int active, @Param("completed") int completed);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.mediaWatchLater = s.mediaWatchLater + :watchLater, " +
+            "s.mediaCurrentlyWatching = s.mediaCurrentlyWatching + :currentlyWatching, " +
+            "s.mediaFinished = s.mediaFinished + :finished WHERE s.userId = :userId")
+    int adjustMedia(@Param("userId") Long userId,
+                    @Param("watchLater") int watchLater,
+                    @Param("currentlyWatching") int currentlyWatching,
+                    @Param("finished") int finished);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.counters = s.counters + :delta WHERE s.userId = :userId")
+    int adjustCounters(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.interests = s.interests + :delta WHERE s.userId = :userId")
+    int adjustInterests(@Param("userId") Long userId, @Param("delta") int delta);
+}
@@ -0,0 +1,12 @@
+package com.focusfortress.repository;
+
+import com.focusfortress.model.Video;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface VideoRepository extends JpaRepository<Video, String> {
+
+    List<Video> findByVideoIdIn(Collection<String> videoIds);
+}
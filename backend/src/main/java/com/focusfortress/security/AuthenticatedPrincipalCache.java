@@ -0,0 +1,103 @@
+package com.focusfortress.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-based cache of already verified tokens and the principal they resolved to,
+ * so repeat requests with the same token skip JWT parsing and the users lookup.
+ * Tokens are keyed by their SHA-256 hash; the raw token is never kept in memory.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private record Entry(UserPrincipal principal, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AuthenticatedPrincipalCache(
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("security.principal.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("security.principal.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("security.principal.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public UserPrincipal get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal();
+    }
+
+    /**
+     * Caches a verified token; the entry never outlives the token itself.
+     */
+    public void put(String token, UserPrincipal principal, Date tokenExpiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + ttlMillis, tokenExpiration.getTime());
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(hash(token), new Entry(principal, expiresAt));
+    }
+
+    /**
+     * Drops every cached token of the given user, e.g. after a profile or role change.
+     */
+    public void invalidate(String email) {
+        entries.values().removeIf(entry -> entry.principal().getUsername().equals(email));
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+
+        // Still full: drop arbitrary entries, they are only a shortcut and will be re-verified
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -22,40 +22,66 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     @Autowired
     private UserDetailsService userDetailsService;
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String jwt = null;
-        String email = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            try {
-                email = jwtUtil.extractEmail(jwt);
-            } catch (io.jsonwebtoken.security.SignatureException e) {
-                logger.warn("Invalid JWT signature: " + e.getMessage());
-            } catch (io.jsonwebtoken.ExpiredJwtException e) {
-                logger.warn("JWT token expired: " + e.getMessage());
-            } catch (Exception e) {
-                logger.error("JWT processing error: " + e.getMessage());
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authHeader.substring(7);
+
+            // Tokens verified earlier are served from memory: no parsing, no users lookup
+            UserDetails userDetails = principalCache.get(jwt);
+            if (userDetails == null) {
+                userDetails = verify(jwt);
+            }
+
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        filterChain.doFilter(request, response);
+    }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+    private UserDetails verify(String jwt) {
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.parseAndValidate(jwt);
+        } catch (io.jsonwebtoken.security.SignatureException e) {
+            logger.warn("Invalid JWT signature: " + e.getMessage());
+            return null;
+        } catch (io.jsonwebtoken.ExpiredJwtException e) {
+            logger.warn("JWT token expired: " + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            logger.error("JWT processing error: " + e.getMessage());
+            return null;
+        }
+
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.subject());
+            if (userDetails instanceof UserPrincipal principal) {
+                // The email now belongs to a different account than the one the token was issued for
+                if (claims.userId() != null && !claims.userId().equals(principal.getId())) {
+                    logger.warn("JWT user id does not match the account of " + claims.subject());
+                    return null;
                 }
-            } catch (Exception e) {
-                logger.error("Cannot set user authentication: " + e.getMessage());
+                // Cached across requests: only the id, email and authorities, never the entity or password hash
+                UserPrincipal cached = principal.withoutPassword();
+                principalCache.put(jwt, cached, claims.expiration());
+                return cached;
             }
+            return userDetails;
+        } catch (Exception e) {
+            logger.error("Cannot set user authentication: " + e.getMessage());
+            return null;
         }
-        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
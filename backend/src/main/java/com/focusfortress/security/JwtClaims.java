@@ -0,0 +1,10 @@
+package com.focusfortress.security;
+
+import java.util.Date;
+
+/**
+ * The parts of a verified JWT the application relies on.
+ * {@code userId} is null for tokens issued before the claim was introduced.
+ */
+public record JwtClaims(Long userId, String subject, Date expiration) {
+}
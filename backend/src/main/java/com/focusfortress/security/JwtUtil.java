@@ -1,10 +1,10 @@
 package com.focusfortress.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
@@ -15,54 +15,46 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
-    private final String SECRET_KEY;
+    // Both are immutable and thread-safe, so they are built once instead of per token
+    private final Key signingKey;
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String secretKey) {
-        this.SECRET_KEY = secretKey;
+        this.signingKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    public String generateToken(String email) {
-        return generateToken(email, false);
+    // Claim carrying the user's primary key, so requests don't have to resolve the user by email
+    static final String USER_ID_CLAIM = "uid";
+
+    public String generateToken(Long userId, String email) {
+        return generateToken(userId, email, false);
     }
 
-    public String generateToken(String email, boolean rememberMe) {
+    public String generateToken(Long userId, String email, boolean rememberMe) {
         long expirationTime = rememberMe
             ? 1000L * 60 * 60 * 24 * 30  // 30 days if "Remember Me" is checked
             : 1000L * 60 * 60 * 24;       // 24 hours for regular login
 
         return Jwts.builder()
                 .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the signature and expiry of a token in a single parse.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public JwtClaims parseAndValidate(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return new JwtClaims(claims.get(USER_ID_CLAIM, Long.class), claims.getSubject(), claims.getExpiration());
     }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = SECRET_KEY.getBytes(StandardCharsets.UTF_8);
-        return new SecretKeySpec(keyBytes, "HmacSHA256");
-    }
-
 }
-
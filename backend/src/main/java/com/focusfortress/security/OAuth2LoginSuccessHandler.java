@@ -4,6 +4,8 @@ import com.focusfortress.model.AuthProvider;
 import com.focusfortress.model.Role;
 import com.focusfortress.model.User;
 import com.focusfortress.repository.UserRepository;
+import com.focusfortress.service.UserClock;
+import com.focusfortress.service.UserStatsService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,7 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
 
     @Override
     @Transactional
@@ -67,8 +70,9 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
             user.setRole(Role.USER);
             user.setCreatedAt(LocalDateTime.now());
             user.setLastLoginAt(LocalDateTime.now());
-            user.setTimezone("Europe/Warsaw");
+            user.setTimezone(UserClock.DEFAULT_TIMEZONE);
             userRepository.save(user);
+            userStatsService.initialize(user.getId());
 
             // New users always need onboarding
             needsOnboarding = true;
@@ -77,7 +81,7 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         }
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
 
         // Redirect to Frontend with token and onboarding flag
         String targetUrl = UriComponentsBuilder.fromUriString("http://localhost:3000/oauth2/redirect")
@@ -2,35 +2,59 @@ package com.focusfortress.security;
 
 import com.focusfortress.model.User;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
-@RequiredArgsConstructor
+/**
+ * The authenticated user's id, email and authorities, copied from the account when it was loaded.
+ * Principals are cached across requests by {@link AuthenticatedPrincipalCache}, so they hold no entity:
+ * code that needs the user's current profile loads it by {@link #getId()}.
+ */
 @Getter
 public class UserPrincipal implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final boolean verified;
+    private final List<GrantedAuthority> authorities;
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRole() != null
-                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-                : Collections.emptyList();
+    public UserPrincipal(User user) {
+        this(user.getId(), user.getEmail(), user.getPassword(), user.isVerified(),
+                user.getRole() != null
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+                        : Collections.emptyList());
+    }
+
+    private UserPrincipal(Long id, String email, String password, boolean verified,
+                          List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.verified = verified;
+        this.authorities = authorities;
+    }
+
+    /**
+     * The same principal without the password hash, which requests authenticated by a token never need.
+     */
+    public UserPrincipal withoutPassword() {
+        return new UserPrincipal(id, email, null, verified, authorities);
     }
 
     @Override
-    public String getPassword() {
-        return user.getPassword();
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -50,6 +74,6 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.isVerified();
+        return verified;
     }
-}
\ No newline at end of file
+}
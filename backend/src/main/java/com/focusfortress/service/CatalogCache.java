@@ -0,0 +1,105 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.Category;
+import com.focusfortress.model.Subcategory;
+import com.focusfortress.repository.CategoryRepository;
+import com.focusfortress.repository.SubcategoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of the category/subcategory catalog.
+ * Readers share one immutable {@link CatalogSnapshot}; any catalog write bumps the version and
+ * the next reader loads a fresh snapshot, in a transaction of its own so that it sees the write.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    private final CategoryRepository categoryRepository;
+    private final SubcategoryRepository subcategoryRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final TransactionTemplate loadTransaction;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogCache(CategoryRepository categoryRepository,
+                        SubcategoryRepository subcategoryRepository,
+                        MeterRegistry meterRegistry,
+                        PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.subcategoryRepository = subcategoryRepository;
+        // A new transaction gets a read view of its own: the caller's may predate the write that evicted the snapshot
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.hits = Counter.builder("catalog.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("catalog.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("catalog.cache.version", version, AtomicLong::get).register(meterRegistry);
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+
+            misses.increment();
+            long loadedVersion = version.get();
+            CatalogSnapshot loaded = loadTransaction.execute(status -> {
+                List<Category> categories = categoryRepository.findAll(Sort.by("id"));
+                List<Subcategory> subcategories = subcategoryRepository.findAllWithCategory();
+                log.debug("Loaded catalog snapshot v{} with {} categories and {} subcategories",
+                        loadedVersion, categories.size(), subcategories.size());
+                return new CatalogSnapshot(loadedVersion, categories, subcategories);
+            });
+            snapshot = loaded;
+            return loaded;
+        }
+    }
+
+    /**
+     * Drops the current snapshot. Inside a transaction this happens once it completes, so
+     * readers never cache rows that could still roll back.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    // Synchronized with loading: a write committing mid-load evicts the possibly stale result right after it is installed
+    private synchronized void evict() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.Category;
+import com.focusfortress.model.Subcategory;
+
+import java.util.*;
+
+/**
+ * Immutable view of the category/subcategory catalog at a given cache version.
+ * Holds plain values rather than entities so it can be shared safely between requests.
+ */
+public final class CatalogSnapshot {
+
+    public record CategoryEntry(Long id, String name, String icon) {
+    }
+
+    public record SubcategoryEntry(Long id, String name, String icon, Long categoryId) {
+    }
+
+    private final long version;
+    private final List<CategoryEntry> categories;
+    private final Map<Long, CategoryEntry> categoriesById = new HashMap<>();
+    private final Map<String, CategoryEntry> categoriesByName = new HashMap<>();
+    private final Map<Long, SubcategoryEntry> subcategoriesById = new HashMap<>();
+    private final Map<String, SubcategoryEntry> subcategoriesByName = new HashMap<>();
+    private final Map<Long, Map<String, SubcategoryEntry>> subcategoriesByCategoryAndName = new HashMap<>();
+    private final Map<Long, List<SubcategoryEntry>> subcategoriesByCategory = new HashMap<>();
+
+    CatalogSnapshot(long version, List<Category> categories, List<Subcategory> subcategories) {
+        this.version = version;
+
+        List<CategoryEntry> categoryEntries = new ArrayList<>();
+        for (Category category : categories) {
+            CategoryEntry entry = new CategoryEntry(category.getId(), category.getName(), category.getIcon());
+            categoryEntries.add(entry);
+            categoriesById.put(entry.id(), entry);
+            categoriesByName.put(entry.name(), entry);
+        }
+        this.categories = Collections.unmodifiableList(categoryEntries);
+
+        for (Subcategory subcategory : subcategories) {
+            SubcategoryEntry entry = new SubcategoryEntry(
+                    subcategory.getId(),
+                    subcategory.getName(),
+                    subcategory.getIcon(),
+                    subcategory.getCategory().getId()
+            );
+            subcategoriesById.put(entry.id(), entry);
+            // Subcategories are ordered by id, so a name shared across categories resolves to the oldest one
+            subcategoriesByName.putIfAbsent(entry.name(), entry);
+            subcategoriesByCategoryAndName.computeIfAbsent(entry.categoryId(), id -> new HashMap<>())
+                    .put(entry.name(), entry);
+            subcategoriesByCategory.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(entry);
+        }
+        subcategoriesByCategory.replaceAll((id, entries) -> Collections.unmodifiableList(entries));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CategoryEntry> getCategories() {
+        return categories;
+    }
+
+    public Optional<CategoryEntry> findCategory(Long id) {
+        return Optional.ofNullable(categoriesById.get(id));
+    }
+
+    public Optional<CategoryEntry> findCategoryByName(String name) {
+        return Optional.ofNullable(categoriesByName.get(name));
+    }
+
+    public Optional<SubcategoryEntry> findSubcategory(Long id) {
+        return Optional.ofNullable(subcategoriesById.get(id));
+    }
+
+    public Optional<SubcategoryEntry> findSubcategoryByName(String name) {
+        return Optional.ofNullable(subcategoriesByName.get(name));
+    }
+
+    public Optional<SubcategoryEntry> findSubcategoryByNameAndCategoryId(String name, Long categoryId) {
+        return Optional.ofNullable(subcategoriesByCategoryAndName.getOrDefault(categoryId, Map.of()).get(name));
+    }
+
+    public List<SubcategoryEntry> getSubcategoriesOf(Long categoryId) {
+        return subcategoriesByCategory.getOrDefault(categoryId, List.of());
+    }
+}
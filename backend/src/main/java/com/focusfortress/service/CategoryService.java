@@ -6,6 +6,7 @@ import com.focusfortress.model.Category;
 import com.focusfortress.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -17,17 +18,19 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogCache catalogCache;
 
-    @Transactional(readOnly = true)
+    // Catalog reads are served from the cache and don't need a transaction (or a connection) of their own
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryDTO> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        return catalogCache.snapshot().getCategories().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CategoryDTO getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
+        CatalogSnapshot.CategoryEntry category = catalogCache.snapshot().findCategory(id)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
         return convertToDTO(category);
     }
@@ -43,6 +46,7 @@ public class CategoryService {
                 .build();
 
         Category saved = categoryRepository.save(category);
+        catalogCache.invalidate();
         return convertToDTO(saved);
     }
 
@@ -63,6 +67,7 @@ public class CategoryService {
         }
 
         Category updated = categoryRepository.save(category);
+        catalogCache.invalidate();
         return convertToDTO(updated);
     }
 
@@ -70,6 +75,7 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
         categoryRepository.delete(category);
+        catalogCache.invalidate();
     }
 
     private CategoryDTO convertToDTO(Category category) {
@@ -79,4 +85,12 @@ public class CategoryService {
                 category.getIcon()
         );
     }
+
+    private CategoryDTO convertToDTO(CatalogSnapshot.CategoryEntry category) {
+        return new CategoryDTO(
+                category.id(),
+                category.name(),
+                category.icon()
+        );
+    }
 }
\ No newline at end of file
@@ -1,17 +1,15 @@
 package com.focusfortress.service;
 
 import com.focusfortress.dto.CounterDTO;
-import com.focusfortress.exception.ForbiddenException;
 import com.focusfortress.exception.NotFoundException;
 import com.focusfortress.model.Counter;
-import com.focusfortress.model.User;
 import com.focusfortress.repository.CounterRepository;
 import com.focusfortress.repository.UserRepository;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -20,17 +18,21 @@ public class CounterService {
 
     private final CounterRepository counterRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final UserClock userClock;
 
-    public CounterService(CounterRepository counterRepository, UserRepository userRepository) {
+    public CounterService(CounterRepository counterRepository,
+                          UserRepository userRepository,
+                          UserStatsService userStatsService,
+                          UserClock userClock) {
         this.counterRepository = counterRepository;
         this.userRepository = userRepository;
+        this.userStatsService = userStatsService;
+        this.userClock = userClock;
     }
 
-    public Counter createCounter(String email, CounterDTO counterDTO) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        if (counterRepository.existsByUserIdAndName(user.getId(), counterDTO.getName())) {
+    public Counter createCounter(Long userId, CounterDTO counterDTO) {
+        if (counterRepository.existsByUserIdAndName(userId, counterDTO.getName())) {
             throw new IllegalArgumentException("Counter with this name already exists for the user");
         }
 
@@ -38,57 +40,49 @@ public class CounterService {
                 .name(counterDTO.getName())
                 .description(counterDTO.getDescription())
                 .icon(counterDTO.getIcon())
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .startDateTime(counterDTO.getStartDateTime())
                 .build();
 
+        Counter saved;
         try {
-            return counterRepository.save(counter);
+            saved = counterRepository.save(counter);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Counter with this name already exists for the user");
         }
+        userStatsService.countersChanged(userId, 1);
+        return saved;
 
     }
 
     @Transactional(readOnly = true)
-    public List<Counter> getUserCounters(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return counterRepository.findByUserId(user.getId());
+    public List<Counter> getUserCounters(Long userId) {
+        return counterRepository.findByUserId(userId);
     }
 
-    public void deleteCounter(Long counterId, String email) {
-        Counter counter = counterRepository.findById(counterId)
-                .orElseThrow(() -> new NotFoundException("Counter not found"));
-
-        if (!counter.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
+    public void deleteCounter(Long counterId, Long userId) {
+        if (counterRepository.deleteByIdAndUserId(counterId, userId) == 0) {
+            throw new NotFoundException("Counter not found");
         }
-        counterRepository.delete(counter);
+        userStatsService.countersChanged(userId, -1);
     }
 
-    public Counter resetCounter(Long counterId, String email) {
-        Counter counter = counterRepository.findById(counterId)
-                .orElseThrow(() -> new NotFoundException("Counter not found"));
-
-        if (!counter.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
+    public Counter resetCounter(Long counterId, Long userId) {
+        // Single owner-scoped UPDATE instead of loading the counter and flushing it back. Start times are the
+        // user's wall-clock time, like the ones the client sends when creating a counter.
+        if (counterRepository.updateStartDateTimeByIdAndUserId(counterId, userId, userClock.now(userId)) == 0) {
+            throw new NotFoundException("Counter not found");
         }
-
-        counter.setStartDateTime(java.time.LocalDateTime.now());
-        return counterRepository.save(counter);
+        return counterRepository.findById(counterId)
+                .orElseThrow(() -> new NotFoundException("Counter not found"));
     }
 
-    public Counter updateCounter(Long counterId, String email, CounterDTO counterDTO) {
-        Counter counter = counterRepository.findById(counterId)
+    public Counter updateCounter(Long counterId, Long userId, CounterDTO counterDTO) {
+        Counter counter = counterRepository.findByIdAndUserId(counterId, userId)
                 .orElseThrow(() -> new NotFoundException("Counter not found"));
 
-        if (!counter.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
-        }
-
         if (counterDTO.getName() != null && !counterDTO.getName().equals(counter.getName())) {
-            if (counterRepository.existsByUserIdAndName(counter.getUser().getId(), counterDTO.getName())) {
+            if (counterRepository.existsByUserIdAndName(userId, counterDTO.getName())) {
                 throw new IllegalArgumentException("Counter with this name already exists for the user");
             }
             counter.setName(counterDTO.getName());
@@ -106,12 +100,8 @@ public class CounterService {
     }
 
     @Transactional(readOnly = true)
-    public Counter getCounterById(Long counterId, String email) {
-        Counter counter = counterRepository.findById(counterId)
+    public Counter getCounterById(Long counterId, Long userId) {
+        return counterRepository.findByIdAndUserId(counterId, userId)
                 .orElseThrow(() -> new NotFoundException("Counter not found"));
-        if (!counter.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
-        }
-        return counter;
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.focusfortress.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Scores video text against weighted keywords compiled once into an Aho–Corasick automaton, so each text is
+ * scanned in a single pass whatever the number of keywords. Keywords only match whole words ("vs" does not match
+ * inside "canvas"); a trailing {@code *} also accepts longer words ("learn*" matches "learning").
+ * Each keyword counts once, and the text is educational if the weights of the matched keywords reach the threshold
+ * and none of them is a spam keyword, i.e. one with a negative weight.
+ */
+@Slf4j
+@Component
+public class EducationalContentClassifier {
+
+    // Educational keywords add to the score; a single spam keyword rules the text out however many of them it has
+    static final List<String> DEFAULT_KEYWORDS = List.of(
+            "lecture*:1", "tutorial*:1", "course*:1", "learn*:1", "educat*:1",
+            "explain*:1", "guide*:1", "documentar*:1", "science*:1", "philosoph*:1",
+            "ted:1", "universit*:1", "professor*:1", "academy*:1",
+            "clickbait*:-10", "drama*:-10", "exposed:-10", "reaction*:-10", "prank*:-10",
+            "vs:-10", "diss:-10", "roast*:-10", "cringe*:-10"
+    );
+
+    private static final int ROOT = 0;
+    // Returned by the scan when it stopped at a spam keyword
+    private static final int SPAM = Integer.MIN_VALUE;
+    // Characters below this have a precomputed transition from every state
+    private static final int DENSE_ALPHABET = 128;
+
+    private final int threshold;
+    private final int[] weights;
+    private final boolean[] prefix;
+    private final int[] lengths;
+
+    // Automaton: per state the sorted transition labels and targets, the failure link and the keywords ending here
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    private final int[][] outputs;
+    // Failure links folded in: the next state for state * DENSE_ALPHABET + c, one lookup per character
+    private final int[] dense;
+
+    public EducationalContentClassifier(
+            @Value("${youtube.classifier.keywords:}") List<String> keywords,
+            @Value("${youtube.classifier.threshold:1}") int threshold) {
+        List<String> definitions = keywords.stream().filter(keyword -> !keyword.isBlank()).toList();
+        if (definitions.isEmpty()) {
+            definitions = DEFAULT_KEYWORDS;
+        }
+
+        int count = definitions.size();
+        this.threshold = threshold;
+        this.weights = new int[count];
+        this.prefix = new boolean[count];
+        this.lengths = new int[count];
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            String definition = definitions.get(i).trim();
+            int separator = definition.lastIndexOf(':');
+            String word = separator < 0 ? definition : definition.substring(0, separator).trim();
+            weights[i] = separator < 0 ? 1 : Integer.parseInt(definition.substring(separator + 1).trim());
+            prefix[i] = word.endsWith("*");
+            words[i] = (prefix[i] ? word.substring(0, word.length() - 1) : word).toLowerCase(Locale.ROOT);
+            lengths[i] = words[i].length();
+            if (lengths[i] == 0) {
+                throw new IllegalArgumentException("Empty classifier keyword: " + definition);
+            }
+        }
+
+        // Trie of all keywords
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int i = 0; i < count; i++) {
+            int state = ROOT;
+            for (char c : words[i].toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).add(i);
+        }
+
+        int states = trie.size();
+        this.labels = new char[states][];
+        this.targets = new int[states][];
+        this.failure = new int[states];
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            labels[state] = new char[edges.size()];
+            targets[state] = new int[edges.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[state][e] = edge.getKey();
+                targets[state][e++] = edge.getValue();
+            }
+        }
+
+        // Failure links in breadth-first order; each state also reports the keywords of its failure chain
+        Deque<Integer> queue = new ArrayDeque<>();
+        outputs[ROOT] = new int[0];
+        for (int child : targets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs[failure[state]];
+            List<Integer> own = ends.get(state);
+            int[] out = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) {
+                out[inherited.length + i] = own.get(i);
+            }
+            outputs[state] = out;
+
+            for (int e = 0; e < labels[state].length; e++) {
+                int child = targets[state][e];
+                int fallback = failure[state];
+                int next = step(fallback, labels[state][e]);
+                while (next < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                    next = step(fallback, labels[state][e]);
+                }
+                failure[child] = next < 0 ? ROOT : next;
+                queue.add(child);
+            }
+        }
+
+        // Breadth-first order again, so the row of each failure state is complete before it is copied
+        this.dense = new int[states * DENSE_ALPHABET];
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int row = state * DENSE_ALPHABET;
+            if (state != ROOT) {
+                System.arraycopy(dense, failure[state] * DENSE_ALPHABET, dense, row, DENSE_ALPHABET);
+            }
+            for (int e = 0; e < labels[state].length; e++) {
+                char c = labels[state][e];
+                if (c < DENSE_ALPHABET) {
+                    dense[row + c] = targets[state][e];
+                }
+                queue.add(targets[state][e]);
+            }
+        }
+
+        log.info("Compiled {} educational content keywords into {} states", count, states);
+    }
+
+    /**
+     * Whether the combined text of the fields (any of which may be {@code null}) scores at least the threshold
+     * without containing a spam keyword. Stops scanning at the first spam keyword.
+     */
+    public boolean isEducational(String... fields) {
+        int score = scan(fields, true);
+        return score != SPAM && score >= threshold;
+    }
+
+    /**
+     * Sum of the weights of the distinct keywords found in any of the fields.
+     */
+    public int score(String... fields) {
+        return scan(fields, false);
+    }
+
+    private int scan(String[] fields, boolean stopAtSpam) {
+        boolean[] matched = new boolean[weights.length];
+        int score = 0;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            int state = ROOT;
+            int length = field.length();
+            for (int i = 0; i < length; i++) {
+                char c = Character.toLowerCase(field.charAt(i));
+                if (c < DENSE_ALPHABET) {
+                    state = dense[state * DENSE_ALPHABET + c];
+                } else {
+                    int next = step(state, c);
+                    while (next < 0 && state != ROOT) {
+                        state = failure[state];
+                        next = step(state, c);
+                    }
+                    state = next < 0 ? ROOT : next;
+                }
+
+                for (int keyword : outputs[state]) {
+                    if (!matched[keyword] && atWordBoundary(field, i - lengths[keyword] + 1, i, prefix[keyword])) {
+                        if (stopAtSpam && weights[keyword] < 0) {
+                            return SPAM;
+                        }
+                        matched[keyword] = true;
+                        score += weights[keyword];
+                    }
+                }
+            }
+        }
+        return score;
+    }
+
+    private int step(int state, char c) {
+        int e = Arrays.binarySearch(labels[state], c);
+        return e < 0 ? -1 : targets[state][e];
+    }
+
+    private static boolean atWordBoundary(String text, int start, int end, boolean prefix) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return prefix || end + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(end + 1));
+    }
+}
@@ -0,0 +1,216 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox on a fixed pool of workers. Each worker sends its share of a batch
+ * through a single {@link JavaMailSender#send(MimeMessage...)} call, i.e. over one SMTP connection.
+ * Delivery is at-least-once: a message whose lease expires before it is marked sent is retried.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxService outboxService,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${mail.outbox.workers:2}") int workerCount,
+            @Value("${mail.outbox.batch-size:50}") int batchSize,
+            @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${mail.outbox.backoff-seconds:30}") long backoffSeconds,
+            @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${mail.outbox.retention-days:7}") long retentionDays) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("mail-outbox-"));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofSeconds(backoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.outbox.send").register(meterRegistry);
+        this.deliveryLag = Timer.builder("mail.outbox.delivery.lag").register(meterRegistry);
+        this.sent = Counter.builder("mail.outbox.messages").tag("result", "sent").register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.messages").tag("result", "retry").register(meterRegistry);
+        this.failed = Counter.builder("mail.outbox.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutboxMessage> claimed;
+        do {
+            claimed = outboxService.claimDue(batchSize, lease);
+            if (!claimed.isEmpty()) {
+                deliverInParallel(claimed);
+            }
+        } while (claimed.size() == batchSize);
+
+        pending.set(outboxService.countPending());
+    }
+
+    // Sent messages are only kept for troubleshooting; deleted in batches to keep each transaction short
+    @Scheduled(cron = "${mail.outbox.purge-cron:0 15 3 * * *}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = outboxService.purgeSent(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+
+        if (purged > 0) {
+            log.info("Purged {} sent emails older than {}", purged, before);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void deliverInParallel(List<EmailOutboxMessage> messages) {
+        // The whole batch was leased by one claim
+        String claimToken = messages.get(0).getClaimToken();
+        int chunkSize = (messages.size() + workerCount - 1) / workerCount;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += chunkSize) {
+            List<EmailOutboxMessage> chunk = messages.subList(from, Math.min(from + chunkSize, messages.size()));
+            futures.add(workers.submit(() -> deliver(chunk, claimToken)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Unmarked messages are retried once their lease expires
+                log.error("Email outbox worker failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void deliver(List<EmailOutboxMessage> chunk, String claimToken) {
+        Map<MimeMessage, EmailOutboxMessage> byMime = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : chunk) {
+            try {
+                byMime.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                recordFailure(message, claimToken, e.getMessage());
+            }
+        }
+        if (byMime.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long started = System.nanoTime();
+        try {
+            mailSender.send(byMime.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                // Connection-level failure: nothing in the batch went out
+                failures = new IdentityHashMap<>();
+                for (MimeMessage mimeMessage : byMime.keySet()) {
+                    failures.put(mimeMessage, e);
+                }
+            }
+        } catch (MailException e) {
+            failures = new IdentityHashMap<>();
+            for (MimeMessage mimeMessage : byMime.keySet()) {
+                failures.put(mimeMessage, e);
+            }
+        } finally {
+            sendTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : byMime.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null) {
+                recordFailure(message, claimToken, failure.getMessage());
+            } else {
+                sentIds.add(message.getId());
+                deliveryLag.record(Duration.between(message.getCreatedAt(), now));
+            }
+        }
+        outboxService.markSent(sentIds, claimToken);
+        sent.increment(sentIds.size());
+    }
+
+    private void recordFailure(EmailOutboxMessage message, String claimToken, String error) {
+        if (outboxService.markFailed(message.getId(), claimToken, error, maxAttempts, backoff)) {
+            failed.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), maxAttempts, error);
+        } else {
+            retried.increment();
+            log.warn("Email {} to {} failed, will retry: {}", message.getId(), message.getRecipient(), error);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mimeMessage;
+    }
+}
@@ -0,0 +1,107 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.EmailOutboxMessage;
+import com.focusfortress.model.EmailOutboxStatus;
+import com.focusfortress.repository.EmailOutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxMessageRepository outboxRepository;
+
+    /**
+     * Queues an email. Joins the caller's transaction, so the message is only delivered if it commits.
+     */
+    public void enqueue(String recipient, String subject, String html) {
+        outboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(html)
+                .build());
+    }
+
+    /**
+     * Leases up to {@code batchSize} due messages for {@code lease}. A message whose lease runs out
+     * before it is marked sent or failed (e.g. the instance died mid-send) becomes due again.
+     */
+    public List<EmailOutboxMessage> claimDue(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxRepository.findDueIds(EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+
+        // A fresh token per claim identifies the rows this call won, even if another instance leases
+        // the same batch with an identical timestamp
+        String claimToken = UUID.randomUUID().toString();
+        if (outboxRepository.lease(dueIds, EmailOutboxStatus.PENDING, now, now.plus(lease), claimToken) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByClaimToken(claimToken);
+    }
+
+    /**
+     * Marks messages leased by the claim {@code claimToken} as sent; ones whose lease was taken over are left alone.
+     */
+    public void markSent(Collection<Long> ids, String claimToken) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markSent(ids, claimToken, EmailOutboxStatus.SENT, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one with exponential backoff, if the claim
+     * {@code claimToken} still holds the message's lease.
+     *
+     * @return true if the message ran out of attempts and will not be retried
+     */
+    public boolean markFailed(Long id, String claimToken, String error, int maxAttempts, Duration baseBackoff) {
+        EmailOutboxMessage message = outboxRepository.findByIdAndClaimToken(id, claimToken).orElse(null);
+        if (message == null) {
+            // The lease ran out and another claim took the message over; that one records its outcome
+            return false;
+        }
+
+        int attempts = message.getAttempts() + 1;
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts >= maxAttempts) {
+            return outboxRepository.markFailed(id, claimToken, EmailOutboxStatus.FAILED, attempts, lastError,
+                    message.getNextAttemptAt()) > 0;
+        }
+
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff);
+        outboxRepository.markFailed(id, claimToken, EmailOutboxStatus.PENDING, attempts, lastError, nextAttemptAt);
+        return false;
+    }
+
+    /**
+     * Deletes up to {@code batchSize} messages sent before {@code before}.
+     *
+     * @return the number of messages deleted
+     */
+    public int purgeSent(LocalDateTime before, int batchSize) {
+        List<Long> ids = outboxRepository.findSentIdsBefore(EmailOutboxStatus.SENT, before, PageRequest.of(0, batchSize));
+        return ids.isEmpty() ? 0 : outboxRepository.deleteByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+}
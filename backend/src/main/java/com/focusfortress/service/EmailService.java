@@ -2,17 +2,16 @@ package com.focusfortress.service;
 
 import com.focusfortress.dto.UserReportDTO;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 
+/**
+ * Renders application emails and queues them in the outbox; delivery happens off the request thread.
+ */
 @RequiredArgsConstructor
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
 
     public void sendVerificationEmail(String to, String token) {
         String link = "http://localhost:8080/api/auth/verify?token=" + token;
@@ -103,16 +102,7 @@ public class EmailService {
             </html>
         """.replace("%LINK%", link);
 
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-            helper.setTo(to);
-            helper.setSubject("Verify your FocusFortress account");
-            helper.setText(html, true);
-            mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Error sending email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(to, "Verify your FocusFortress account", html);
     }
 
     public void sendProgressReport(String to, UserReportDTO report) {
@@ -251,16 +241,7 @@ public class EmailService {
                 .replace("%USER_NAME%", report.getUserName())
                 .replace("%GENERATED_AT%", report.getGeneratedAt());
 
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-            helper.setTo(to);
-            helper.setSubject("📊 Your FocusFortress Progress Report");
-            helper.setText(finalHtml, true);
-            mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Error sending progress report email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(to, "📊 Your FocusFortress Progress Report", finalHtml);
     }
 
     private String generateReportSections(UserReportDTO report) {
@@ -1,86 +1,193 @@
 package com.focusfortress.service;
 
-import com.focusfortress.exception.ForbiddenException;
+import com.focusfortress.dto.HabitHistoryDTO;
 import com.focusfortress.exception.NotFoundException;
+import com.focusfortress.mapper.HabitProgressMapper;
 import com.focusfortress.model.Habit;
-import com.focusfortress.model.HabitProgress;
 import com.focusfortress.repository.HabitProgressRepository;
 import com.focusfortress.repository.HabitRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Transactional
 public class HabitProgressService {
 
+    private static final int DEFAULT_HISTORY_DAYS = 365;
+    private static final int MAX_HISTORY_DAYS = 3 * 366;
+
     private final HabitProgressRepository habitProgressRepository;
     private final HabitRepository habitRepository;
-
-    public int markDone(Long habitId, String email) {
-        Habit habit = habitRepository.findById(habitId)
+    private final UserStatsService userStatsService;
+    private final UserClock userClock;
+
+    /**
+     * Records today's completion and returns the streak. Idempotent: marking a habit that is already done
+     * today returns the same streak again. Concurrent calls are settled by the (habit_id, date) unique key,
+     * and only the call whose insert went through advances the streak.
+     */
+    public int markDone(Long habitId, Long userId) {
+        Habit habit = habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new NotFoundException("Habit not found"));
 
-        if (!habit.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
+        LocalDate today = userClock.today(userId);
+        if (today.equals(habit.getLastDoneDate())) {
+            return habit.getCurrentStreak();
         }
 
         if (habit.isDone()) {
             throw new IllegalStateException("This habit is already completed");
         }
 
-        LocalDate today = LocalDate.now();
-
-        if (habitProgressRepository.findByHabitAndDate(habit, today).isPresent()) {
-            throw new IllegalStateException("Already marked as done today");
+        if (!habitProgressRepository.insertIfAbsent(habit.getId(), today)) {
+            // A concurrent call recorded today first, starting from the same state as this one
+            return nextStreak(habit, today);
         }
 
-        HabitProgress progress = new HabitProgress();
-        progress.setHabit(habit);
-        progress.setDate(today);
-        habitProgressRepository.save(progress);
-
-        int streak = calculateStreak(habit, today);
+        int streak = advanceStreak(habit, today);
 
         // Check if habit is completed
         if (streak >= habit.getDurationDays()) {
             habit.setDone(true);
-            habitRepository.save(habit);
+            userStatsService.habitCompleted(userId);
         }
+        habitRepository.save(habit);
 
         return streak;
     }
 
     @Transactional(readOnly = true)
-    public int getCurrentStreak(Long habitId, String email) {
-        Habit habit = habitRepository.findById(habitId)
+    public int getCurrentStreak(Long habitId, Long userId) {
+        Habit habit = habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new NotFoundException("Habit not found"));
 
-        if (!habit.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
+        return streakAsOf(habit, userClock.today(userId));
+    }
+
+    /**
+     * Done days of the habit between {@code from} and {@code to}, by default the year up to the user's today.
+     */
+    @Transactional(readOnly = true)
+    public HabitHistoryDTO getHistory(Long habitId, Long userId, LocalDate from, LocalDate to) {
+        if (habitRepository.findDoneByIdAndUserId(habitId, userId).isEmpty()) {
+            throw new NotFoundException("Habit not found");
         }
 
-        return calculateStreak(habit, LocalDate.now());
+        LocalDate end = to != null ? to : userClock.today(userId);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_HISTORY_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalStateException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_HISTORY_DAYS) {
+            throw new IllegalStateException("History range must be at most " + MAX_HISTORY_DAYS + " days");
+        }
+
+        List<LocalDate> doneDates = habitProgressRepository.findDatesByHabitIdBetween(habitId, start, end);
+        return HabitProgressMapper.toHistoryDTO(habitId, start, end, doneDates);
     }
 
-    private int calculateStreak(Habit habit, LocalDate startDate) {
-        List<HabitProgress> progressList = habitProgressRepository.findByHabitOrderByDateDesc(habit);
-        int streak = 0;
-        LocalDate day = startDate;
-
-        for (HabitProgress hp : progressList) {
-            if (hp.getDate().equals(day)) {
-                streak++;
-                day = day.minusDays(1);
-            } else {
-                break;
+    /**
+     * Recomputes the persisted streak state of up to {@code batchSize} habits with an id greater
+     * than {@code afterId} from their habit_progress rows, fixing any habit that drifted.
+     * Only the streak columns are written, and only while they still hold what was read: a habit marked done
+     * or edited while the batch runs keeps that change and is verified again on the next run.
+     */
+    public StreakRebuildBatch rebuildStreaks(Long afterId, int batchSize) {
+        List<Habit> habits = habitRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+        if (habits.isEmpty()) {
+            return new StreakRebuildBatch(null, 0, 0);
+        }
+
+        List<Long> habitIds = habits.stream().map(Habit::getId).collect(Collectors.toList());
+        Map<Long, List<LocalDate>> datesByHabit = new HashMap<>();
+        for (Object[] row : habitProgressRepository.findDatesByHabitIdsOrderByDateDesc(habitIds)) {
+            datesByHabit.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((LocalDate) row[1]);
+        }
+
+        int corrected = 0;
+        for (Habit habit : habits) {
+            RebuiltStreak rebuilt = rebuild(datesByHabit.getOrDefault(habit.getId(), List.of()));
+            if (rebuilt.differsFrom(habit) && habitRepository.updateStreakStateIfUnchanged(habit.getId(),
+                    habit.getCurrentStreak(), habit.getLongestStreak(), habit.getLastDoneDate(),
+                    rebuilt.currentStreak(), rebuilt.longestStreak(), rebuilt.lastDoneDate()) > 0) {
+                corrected++;
             }
         }
 
+        return new StreakRebuildBatch(habits.get(habits.size() - 1).getId(), habits.size(), corrected);
+    }
+
+    /**
+     * Streak as seen on {@code day}: the persisted run only counts while its last completion is that day.
+     */
+    static int streakAsOf(Habit habit, LocalDate day) {
+        return day.equals(habit.getLastDoneDate()) ? habit.getCurrentStreak() : 0;
+    }
+
+    private static int nextStreak(Habit habit, LocalDate day) {
+        LocalDate lastDone = habit.getLastDoneDate();
+        return lastDone != null && lastDone.equals(day.minusDays(1))
+                ? habit.getCurrentStreak() + 1
+                : 1;
+    }
+
+    private int advanceStreak(Habit habit, LocalDate day) {
+        int streak = nextStreak(habit, day);
+
+        habit.setCurrentStreak(streak);
+        habit.setLongestStreak(Math.max(habit.getLongestStreak(), streak));
+        habit.setLastDoneDate(day);
         return streak;
     }
-}
\ No newline at end of file
+
+    private static RebuiltStreak rebuild(List<LocalDate> datesDesc) {
+        LocalDate lastDone = datesDesc.isEmpty() ? null : datesDesc.get(0);
+        int current = 0;
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        boolean inLatestRun = true;
+
+        for (LocalDate date : datesDesc) {
+            if (date.equals(previous)) {
+                continue;
+            }
+            boolean consecutive = previous != null && date.equals(previous.minusDays(1));
+            if (previous != null && !consecutive) {
+                inLatestRun = false;
+            }
+            run = consecutive ? run + 1 : 1;
+            if (inLatestRun) {
+                current = run;
+            }
+            longest = Math.max(longest, run);
+            previous = date;
+        }
+
+        return new RebuiltStreak(current, longest, lastDone);
+    }
+
+    private record RebuiltStreak(int currentStreak, int longestStreak, LocalDate lastDoneDate) {
+
+        boolean differsFrom(Habit habit) {
+            return habit.getCurrentStreak() != currentStreak
+                    || habit.getLongestStreak() != longestStreak
+                    || !Objects.equals(habit.getLastDoneDate(), lastDoneDate);
+        }
+    }
+
+    public record StreakRebuildBatch(Long lastHabitId, int processed, int corrected) {
+    }
+}
@@ -3,20 +3,21 @@ package com.focusfortress.service;
 import com.focusfortress.dto.CategoryTreeDTO;
 import com.focusfortress.dto.HabitDTO;
 import com.focusfortress.dto.SubcategoryTreeDTO;
-import com.focusfortress.exception.ForbiddenException;
 import com.focusfortress.exception.NotFoundException;
 import com.focusfortress.exception.ResourceNotFoundException;
 import com.focusfortress.model.Category;
 import com.focusfortress.model.Habit;
 import com.focusfortress.model.Subcategory;
-import com.focusfortress.model.User;
 import com.focusfortress.repository.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -29,47 +30,44 @@ public class HabitService {
     private final CategoryRepository categoryRepository;
     private final SubcategoryRepository subcategoryRepository;
     private final HabitProgressRepository habitProgressRepository;
-    private final HabitProgressService habitProgressService;
+    private final CatalogCache catalogCache;
+    private final UserStatsService userStatsService;
+    private final UserClock userClock;
 
     @Transactional(readOnly = true)
-    public List<Habit> getUserHabitsByCategory(String email, Long categoryId) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return habitRepository.findByUserIdAndCategoryId(user.getId(), categoryId);
+    public List<Habit> getUserHabitsByCategory(Long userId, Long categoryId) {
+        return habitRepository.findByUserIdAndCategoryId(userId, categoryId);
     }
 
     @Transactional(readOnly = true)
-    public List<Habit> getUserHabitsBySubcategory(String email, Long subcategoryId) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return habitRepository.findByUserIdAndSubcategoryId(user.getId(), subcategoryId);
+    public List<Habit> getUserHabitsBySubcategory(Long userId, Long subcategoryId) {
+        return habitRepository.findByUserIdAndSubcategoryId(userId, subcategoryId);
     }
 
     @Transactional(readOnly = true)
-    public List<Habit> getUserHabitsByCategoryAndSubcategory(String email, Long categoryId, Long subcategoryId) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return habitRepository.findByUserIdAndCategoryIdAndSubcategoryId(user.getId(), categoryId, subcategoryId);
+    public List<Habit> getUserHabitsByCategoryAndSubcategory(Long userId, Long categoryId, Long subcategoryId) {
+        return habitRepository.findByUserIdAndCategoryIdAndSubcategoryId(userId, categoryId, subcategoryId);
     }
 
-    public Habit saveHabit(HabitDTO habitDTO, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        if (habitRepository.existsByUserIdAndName(user.getId(), habitDTO.getName())) {
+    public Habit saveHabit(HabitDTO habitDTO, Long userId) {
+        if (habitRepository.existsByUserIdAndName(userId, habitDTO.getName())) {
             throw new IllegalArgumentException("Habit with this name already exists for the user");
         }
 
+        CatalogSnapshot catalog = catalogCache.snapshot();
+
         Category category = null;
         if (habitDTO.getCategoryId() != null) {
-            category = categoryRepository.findById(habitDTO.getCategoryId())
+            catalog.findCategory(habitDTO.getCategoryId())
                     .orElseThrow(() -> new NotFoundException("Category not found"));
+            category = categoryRepository.getReferenceById(habitDTO.getCategoryId());
         }
 
         Subcategory subcategory = null;
         if (habitDTO.getSubcategoryId() != null) {
-            subcategory = subcategoryRepository.findById(habitDTO.getSubcategoryId())
+            catalog.findSubcategory(habitDTO.getSubcategoryId())
                     .orElseThrow(() -> new NotFoundException("Subcategory not found"));
+            subcategory = subcategoryRepository.getReferenceById(habitDTO.getSubcategoryId());
         }
 
         Habit habit = Habit.builder()
@@ -79,18 +77,17 @@ public class HabitService {
                 .subcategory(subcategory)
                 .icon(habitDTO.getIcon())
                 .durationDays(habitDTO.getDurationDays())
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .done(false)
                 .build();
 
-        return habitRepository.save(habit);
+        Habit saved = habitRepository.save(habit);
+        userStatsService.habitCreated(userId);
+        return saved;
     }
 
-    public Habit updateHabit(Long habitId, HabitDTO habitDTO, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Habit habit = habitRepository.findByIdAndUserId(habitId, user.getId())
+    public Habit updateHabit(Long habitId, HabitDTO habitDTO, Long userId) {
+        Habit habit = habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Habit not found"));
 
         // Don't allow editing completed habits
@@ -99,18 +96,20 @@ public class HabitService {
         }
 
         // Block duration change after starting
-        int currentStreak = habitProgressService.getCurrentStreak(habitId, email);
+        int currentStreak = HabitProgressService.streakAsOf(habit, userClock.today(userId));
         if (currentStreak > 0 && habit.getDurationDays() != habitDTO.getDurationDays()) {
             throw new IllegalStateException("Cannot change duration after starting the habit. Delete and recreate to restart.");
         }
 
-        Category category = categoryRepository.findById(habitDTO.getCategoryId())
+        CatalogSnapshot catalog = catalogCache.snapshot();
+
+        CatalogSnapshot.CategoryEntry category = catalog.findCategory(habitDTO.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
-        Subcategory subcategory = subcategoryRepository.findById(habitDTO.getSubcategoryId())
+        CatalogSnapshot.SubcategoryEntry subcategory = catalog.findSubcategory(habitDTO.getSubcategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Subcategory not found"));
 
-        if (!subcategory.getCategory().getId().equals(category.getId())) {
+        if (!subcategory.categoryId().equals(category.id())) {
             throw new IllegalArgumentException("Subcategory does not belong to the selected category");
         }
 
@@ -118,90 +117,68 @@ public class HabitService {
         habit.setDescription(habitDTO.getDescription());
         habit.setIcon(habitDTO.getIcon());
         habit.setDurationDays(habitDTO.getDurationDays());
-        habit.setCategory(category);
-        habit.setSubcategory(subcategory);
+        habit.setCategory(categoryRepository.getReferenceById(category.id()));
+        habit.setSubcategory(subcategoryRepository.getReferenceById(subcategory.id()));
 
         return habitRepository.save(habit);
     }
 
     @Transactional(readOnly = true)
-    public List<Habit> getUserHabits(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return habitRepository.findByUserId(user.getId());
+    public List<HabitDTO> getUserHabitsWithStreaks(Long userId) {
+        List<Habit> habits = habitRepository.findByUserId(userId);
+        LocalDate today = userClock.today(userId);
+
+        return habits.stream()
+                .map(habit -> convertToDTO(habit, today))
+                .collect(Collectors.toList());
     }
 
-    public void deleteHabit(Long habitId, String email) {
-        Habit habit = habitRepository.findById(habitId)
+    public void deleteHabit(Long habitId, Long userId) {
+        // Only the done flag is read (for the user's stats); someone else's habit reads as missing
+        boolean done = habitRepository.findDoneByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new NotFoundException("Habit not found"));
 
-        if (!habit.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
-        }
-
-        habitProgressRepository.deleteByHabitId(habitId);
-        habitRepository.delete(habit);
+        habitProgressRepository.deleteByHabitIdAndUserId(habitId, userId);
+        habitRepository.deleteByIdAndUserId(habitId, userId);
+        userStatsService.habitDeleted(userId, done);
     }
 
     @Transactional(readOnly = true)
-    public Habit getHabitById(Long habitId, String email) {
-        Habit habit = habitRepository.findById(habitId)
+    public Habit getHabitById(Long habitId, Long userId) {
+        return habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new NotFoundException("Habit not found"));
-
-        if (!habit.getUser().getEmail().equals(email)) {
-            throw new ForbiddenException("Access denied");
-        }
-
-        return habit;
     }
 
     @Transactional(readOnly = true)
-    public List<CategoryTreeDTO> getHabitsTree(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        List<Habit> userHabits = habitRepository.findByUserId(user.getId());
-        List<Category> categories = categoryRepository.findAll();
-
-        return categories.stream()
-                .map(category -> buildCategoryTree(category, userHabits, email))
-                .collect(Collectors.toList());
-    }
-
-    private CategoryTreeDTO buildCategoryTree(Category category, List<Habit> userHabits, String email) {
-        List<Subcategory> subcategories = subcategoryRepository.findByCategoryId(category.getId());
-        List<SubcategoryTreeDTO> subcategoryTrees = subcategories.stream()
-                .map(subcategory -> buildSubcategoryTree(subcategory, userHabits, email))
-                .collect(Collectors.toList());
-
-        return new CategoryTreeDTO(
-                category.getId(),
-                category.getName(),
-                category.getIcon(),
-                subcategoryTrees
-        );
-    }
+    public List<CategoryTreeDTO> getHabitsTree(Long userId) {
+        List<Habit> userHabits = habitRepository.findByUserId(userId);
+        LocalDate today = userClock.today(userId);
+
+        // Group habits in a single pass; categories and subcategories come from the cached catalog
+        Map<Long, List<HabitDTO>> habitsBySubcategory = new HashMap<>();
+        for (Habit habit : userHabits) {
+            if (habit.getSubcategory() != null) {
+                habitsBySubcategory.computeIfAbsent(habit.getSubcategory().getId(), id -> new ArrayList<>())
+                        .add(convertToDTO(habit, today));
+            }
+        }
 
-    private SubcategoryTreeDTO buildSubcategoryTree(Subcategory subcategory, List<Habit> userHabits, String email) {
-        List<HabitDTO> habits = userHabits.stream()
-                .filter(habit -> habit.getSubcategory() != null &&
-                        habit.getSubcategory().getId().equals(subcategory.getId()))
-                .map(habit -> {
-                    HabitDTO dto = convertToDTO(habit);
-                    // Count current streak for each habit
-                    dto.setCurrentStreak(
-                            habitProgressService.getCurrentStreak(habit.getId(), email)
-                    );
-                    return dto;
-                })
+        CatalogSnapshot catalog = catalogCache.snapshot();
+        return catalog.getCategories().stream()
+                .map(category -> new CategoryTreeDTO(
+                        category.id(),
+                        category.name(),
+                        category.icon(),
+                        catalog.getSubcategoriesOf(category.id()).stream()
+                                .map(subcategory -> new SubcategoryTreeDTO(
+                                        subcategory.id(),
+                                        subcategory.name(),
+                                        subcategory.icon(),
+                                        habitsBySubcategory.getOrDefault(subcategory.id(), new ArrayList<>())
+                                ))
+                                .collect(Collectors.toList())
+                ))
                 .collect(Collectors.toList());
-
-        return new SubcategoryTreeDTO(
-                subcategory.getId(),
-                subcategory.getName(),
-                subcategory.getIcon(),
-                habits
-        );
     }
 
     private HabitDTO convertToDTO(Habit habit) {
@@ -216,4 +193,11 @@ public class HabitService {
         dto.setDone(habit.isDone());
         return dto;
     }
+
+    // Streaks come from the loaded habits' persisted state, no extra query
+    private HabitDTO convertToDTO(Habit habit, LocalDate today) {
+        HabitDTO dto = convertToDTO(habit);
+        dto.setCurrentStreak(HabitProgressService.streakAsOf(habit, today));
+        return dto;
+    }
 }
\ No newline at end of file
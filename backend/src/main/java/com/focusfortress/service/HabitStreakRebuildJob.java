@@ -0,0 +1,61 @@
+package com.focusfortress.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies the streak state persisted on habits against habit_progress and repairs drift
+ * (e.g. rows inserted manually or habits created before streak state existed).
+ */
+@Slf4j
+@Component
+public class HabitStreakRebuildJob {
+
+    private final HabitProgressService habitProgressService;
+    private final int batchSize;
+    private final boolean rebuildOnStartup;
+
+    public HabitStreakRebuildJob(
+            HabitProgressService habitProgressService,
+            @Value("${habits.streak.rebuild-batch-size:500}") int batchSize,
+            @Value("${habits.streak.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.habitProgressService = habitProgressService;
+        this.batchSize = batchSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    @Scheduled(cron = "${habits.streak.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        long processed = 0;
+        long corrected = 0;
+        Long afterId = 0L;
+
+        while (true) {
+            HabitProgressService.StreakRebuildBatch batch = habitProgressService.rebuildStreaks(afterId, batchSize);
+            if (batch.lastHabitId() == null) {
+                break;
+            }
+            processed += batch.processed();
+            corrected += batch.corrected();
+            afterId = batch.lastHabitId();
+        }
+
+        if (corrected > 0) {
+            log.warn("Streak rebuild corrected {} of {} habits in {} ms", corrected, processed, System.currentTimeMillis() - started);
+        } else {
+            log.info("Streak rebuild verified {} habits in {} ms", processed, System.currentTimeMillis() - started);
+        }
+    }
+}
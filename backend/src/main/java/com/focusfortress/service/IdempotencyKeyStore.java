@@ -0,0 +1,110 @@
+package com.focusfortress.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Results of requests sent with an {@code Idempotency-Key} header, so that a client retrying one gets the
+ * original result back instead of the operation running again (e.g. a "mark done" retried after midnight
+ * would otherwise mark the next day). Keys are scoped to the user and the operation and kept for the TTL;
+ * the least recently used ones are evicted once the store is full.
+ * <p>
+ * The first request with a key claims it before running the operation; a retry arriving while it runs
+ * waits for its result instead of running the operation a second time. If the operation fails the key
+ * is released, so the retry runs it.
+ * <p>
+ * The store is in memory, which assumes the single backend instance of docker-compose.yml: keys do not
+ * survive a restart, and with several instances a retry reaching another one would run again. The
+ * (habit_id, date) unique key still stops a retry on the same day from recording the day twice; moving the
+ * keys to a table is needed before running more than one instance.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record StoredKey(Long userId, String operation, String key) {
+    }
+
+    private record StoredResult(CompletableFuture<Object> result, long storedAtMillis) {
+    }
+
+    private final long ttlMillis;
+    private final Map<StoredKey, StoredResult> results;
+    private final Counter replayed;
+
+    public IdempotencyKeyStore(
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlHours * 3_600_000;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StoredKey, StoredResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.replayed = Counter.builder("idempotency.keys.replayed").register(meterRegistry);
+    }
+
+    /**
+     * Runs the operation once per key: returns the result of an earlier or in-flight call with the same key
+     * if there is one within the TTL. {@code action} must commit its own transaction before returning.
+     */
+    public <T> T execute(Long userId, String operation, String key, Class<T> type, Supplier<T> action) {
+        validate(key);
+        StoredKey storedKey = new StoredKey(userId, operation, key);
+        while (true) {
+            StoredResult claimed = new StoredResult(new CompletableFuture<>(), System.currentTimeMillis());
+            StoredResult stored;
+            synchronized (results) {
+                stored = results.get(storedKey);
+                if (stored == null || claimed.storedAtMillis() - stored.storedAtMillis() >= ttlMillis) {
+                    results.put(storedKey, claimed);
+                    stored = null;
+                }
+            }
+
+            if (stored == null) {
+                return run(storedKey, claimed, action);
+            }
+            try {
+                T result = type.cast(stored.result().join());
+                replayed.increment();
+                return result;
+            } catch (CompletionException | CancellationException e) {
+                // The call holding the key failed and released it: run the operation for this request
+            }
+        }
+    }
+
+    private <T> T run(StoredKey storedKey, StoredResult claimed, Supplier<T> action) {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (results) {
+                results.remove(storedKey, claimed);
+            }
+            claimed.result().completeExceptionally(e);
+            throw e;
+        }
+        claimed.result().complete(result);
+        return result;
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalStateException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+}
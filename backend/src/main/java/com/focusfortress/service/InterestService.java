@@ -11,7 +11,6 @@ import com.focusfortress.repository.UserInterestRepository;
 import com.focusfortress.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +26,8 @@ public class InterestService {
     private final SubcategoryRepository subcategoryRepository;
     private final UserRepository userRepository;
     private final UserInterestRepository userInterestRepository;
+    private final CatalogCache catalogCache;
+    private final UserStatsService userStatsService;
 
     @Transactional
     public void createInitialInterestsForUser(User user, Set<String> subcategoryNames) {
@@ -52,26 +53,8 @@ public class InterestService {
         for (String subcategoryName : subcategoryNames) {
             SubcategoryInfo info = subcategoryMap.get(subcategoryName);
 
-            // Find or create category
-            Category category = categoryRepository.findByName(info.categoryName)
-                    .orElseGet(() -> {
-                        Category newCategory = Category.builder()
-                                .name(info.categoryName)
-                                .icon(info.categoryIcon)
-                                .build();
-                        return categoryRepository.save(newCategory);
-                    });
-
-            // Find or create subcategory
-            Subcategory subcategory = subcategoryRepository.findByNameAndCategoryId(subcategoryName, category.getId())
-                    .orElseGet(() -> {
-                        Subcategory newSubcategory = Subcategory.builder()
-                                .name(subcategoryName)
-                                .icon(info.subcategoryIcon)
-                                .category(category)
-                                .build();
-                        return subcategoryRepository.save(newSubcategory);
-                    });
+            Category category = findOrCreateCategory(info.categoryName, info.categoryIcon);
+            Subcategory subcategory = findOrCreateSubcategory(subcategoryName, info.subcategoryIcon, category);
 
             // Create user interest
             UserInterest userInterest = UserInterest.builder()
@@ -80,10 +63,53 @@ public class InterestService {
                     .build();
             userInterestRepository.save(userInterest);
         }
+        userStatsService.interestsChanged(user.getId(), subcategoryNames.size());
 
         log.info("Successfully created initial interest structure for user");
     }
 
+    /**
+     * Resolves a catalog category from the cache, falling back to the database (which also sees
+     * rows created earlier in the current transaction) before creating it.
+     */
+    private Category findOrCreateCategory(String name, String icon) {
+        Optional<CatalogSnapshot.CategoryEntry> cached = catalogCache.snapshot().findCategoryByName(name);
+        if (cached.isPresent()) {
+            return categoryRepository.getReferenceById(cached.get().id());
+        }
+
+        return categoryRepository.findByName(name)
+                .orElseGet(() -> {
+                    Category newCategory = Category.builder()
+                            .name(name)
+                            .icon(icon)
+                            .build();
+                    Category saved = categoryRepository.save(newCategory);
+                    catalogCache.invalidate();
+                    return saved;
+                });
+    }
+
+    private Subcategory findOrCreateSubcategory(String name, String icon, Category category) {
+        Optional<CatalogSnapshot.SubcategoryEntry> cached =
+                catalogCache.snapshot().findSubcategoryByNameAndCategoryId(name, category.getId());
+        if (cached.isPresent()) {
+            return subcategoryRepository.getReferenceById(cached.get().id());
+        }
+
+        return subcategoryRepository.findByNameAndCategoryId(name, category.getId())
+                .orElseGet(() -> {
+                    Subcategory newSubcategory = Subcategory.builder()
+                            .name(name)
+                            .icon(icon)
+                            .category(category)
+                            .build();
+                    Subcategory saved = subcategoryRepository.save(newSubcategory);
+                    catalogCache.invalidate();
+                    return saved;
+                });
+    }
+
     private Map<String, SubcategoryInfo> buildSubcategoryMap() {
         Map<String, SubcategoryInfo> map = new HashMap<>();
 
@@ -142,36 +168,29 @@ public class InterestService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserInterestDTO> getUserInterests(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return userInterestRepository.findByUserIdOrderBySelectedAtDesc(user.getId())
+    public List<UserInterestDTO> getUserInterests(Long userId) {
+        return userInterestRepository.findByUserIdOrderBySelectedAtDesc(userId)
                 .stream()
                 .map(UserInterestDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public Set<String> getUserSubcategoryNames(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return userInterestRepository.findByUserIdOrderBySelectedAtDesc(user.getId())
+    public Set<String> getUserSubcategoryNames(Long userId) {
+        return userInterestRepository.findByUserIdOrderBySelectedAtDesc(userId)
                 .stream()
                 .map(ui -> ui.getSubcategory().getName())
                 .collect(Collectors.toSet());
     }
 
     @Transactional
-    public List<UserInterestDTO> manageUserInterests(String email, ManageInterestsDTO dto) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public List<UserInterestDTO> manageUserInterests(Long userId, ManageInterestsDTO dto) {
+        User user = userRepository.getReferenceById(userId);
 
         Map<String, SubcategoryInfo> subcategoryMap = buildSubcategoryMap();
 
         // Get current user interests
-        Set<String> currentSubcategoryNames = getUserSubcategoryNames(email);
+        Set<String> currentSubcategoryNames = getUserSubcategoryNames(userId);
 
         // Validate all subcategory names first (both add and remove)
         List<String> invalidSubcategories = new ArrayList<>();
@@ -211,42 +230,27 @@ public class InterestService {
 
         if (!errorMessages.isEmpty()) {
             String fullErrorMessage = String.join(". ", errorMessages);
-            log.error("Interest management validation failed for user {}: {}", email, fullErrorMessage);
+            log.error("Interest management validation failed for user {}: {}", userId, fullErrorMessage);
             throw new IllegalArgumentException(fullErrorMessage);
         }
 
+        int removed = 0;
+
         // Remove interests (hard delete)
         for (String subcategoryName : dto.getRemove()) {
-            Subcategory subcategory = subcategoryRepository.findByName(subcategoryName).orElse(null);
+            CatalogSnapshot.SubcategoryEntry subcategory = catalogCache.snapshot().findSubcategoryByName(subcategoryName).orElse(null);
             if (subcategory != null) {
-                userInterestRepository.deleteByUserIdAndSubcategoryId(user.getId(), subcategory.getId());
-                log.info("Removed interest {} for user {}", subcategoryName, email);
+                userInterestRepository.deleteByUserIdAndSubcategoryId(userId, subcategory.id());
+                removed++;
+                log.info("Removed interest {} for user {}", subcategoryName, userId);
             }
         }
 
         // Add new interests
         for (String subcategoryName : dto.getAdd()) {
             SubcategoryInfo info = subcategoryMap.get(subcategoryName);
-            // Find or create category
-            Category category = categoryRepository.findByName(info.categoryName)
-                    .orElseGet(() -> {
-                        Category newCategory = Category.builder()
-                                .name(info.categoryName)
-                                .icon(info.categoryIcon)
-                                .build();
-                        return categoryRepository.save(newCategory);
-                    });
-
-            // Find or create subcategory
-            Subcategory subcategory = subcategoryRepository.findByNameAndCategoryId(subcategoryName, category.getId())
-                    .orElseGet(() -> {
-                        Subcategory newSubcategory = Subcategory.builder()
-                                .name(subcategoryName)
-                                .icon(info.subcategoryIcon)
-                                .category(category)
-                                .build();
-                        return subcategoryRepository.save(newSubcategory);
-                    });
+            Category category = findOrCreateCategory(info.categoryName, info.categoryIcon);
+            Subcategory subcategory = findOrCreateSubcategory(subcategoryName, info.subcategoryIcon, category);
 
             // Create user interest (we already validated it doesn't exist)
             UserInterest newInterest = UserInterest.builder()
@@ -255,26 +259,20 @@ public class InterestService {
                     .build();
             userInterestRepository.save(newInterest);
 
-            log.info("Added interest {} for user {}", subcategoryName, email);
+            log.info("Added interest {} for user {}", subcategoryName, userId);
         }
 
-        return getUserInterests(email);
+        userStatsService.interestsChanged(userId, dto.getAdd().size() - removed);
+
+        return getUserInterests(userId);
     }
 
     @Transactional
-    public UserInterestDTO addCustomInterest(String email, String name, String emoji) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public UserInterestDTO addCustomInterest(Long userId, String name, String emoji) {
+        User user = userRepository.getReferenceById(userId);
 
         // Find or create a "Custom" category for user-defined interests
-        Category customCategory = categoryRepository.findByName("Custom")
-                .orElseGet(() -> {
-                    Category newCategory = Category.builder()
-                            .name("Custom")
-                            .icon("✨")
-                            .build();
-                    return categoryRepository.save(newCategory);
-                });
+        Category customCategory = findOrCreateCategory("Custom", "✨");
 
         // Create the custom subcategory with the provided emoji
         Subcategory customSubcategory = Subcategory.builder()
@@ -283,6 +281,7 @@ public class InterestService {
                 .category(customCategory)
                 .build();
         customSubcategory = subcategoryRepository.save(customSubcategory);
+        catalogCache.invalidate();
 
         // Create user interest
         UserInterest userInterest = UserInterest.builder()
@@ -290,22 +289,20 @@ public class InterestService {
                 .subcategory(customSubcategory)
                 .build();
         userInterest = userInterestRepository.save(userInterest);
+        userStatsService.interestsChanged(userId, 1);
 
-        log.info("Added custom interest '{}' for user {}", name, email);
+        log.info("Added custom interest '{}' for user {}", name, userId);
 
         return UserInterestDTO.fromEntity(userInterest);
     }
 
     @Transactional
-    public void deleteUserInterest(String email, Long interestId) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    public void deleteUserInterest(Long userId, Long interestId) {
         UserInterest userInterest = userInterestRepository.findById(interestId)
                 .orElseThrow(() -> new IllegalArgumentException("Interest not found"));
 
         // Verify the interest belongs to the user
-        if (!userInterest.getUser().getId().equals(user.getId())) {
+        if (!userInterest.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Interest does not belong to the current user");
         }
 
@@ -314,16 +311,18 @@ public class InterestService {
 
         // Delete the user interest
         userInterestRepository.delete(userInterest);
+        userStatsService.interestsChanged(userId, -1);
 
         // If it's a custom interest, also delete the subcategory since it's user-specific
         if (isCustom) {
             Subcategory customSubcategory = userInterest.getSubcategory();
             subcategoryRepository.delete(customSubcategory);
+            catalogCache.invalidate();
             log.info("Deleted custom interest '{}' and its subcategory for user {}",
-                    customSubcategory.getName(), email);
+                    customSubcategory.getName(), userId);
         } else {
             log.info("Removed interest '{}' for user {}",
-                    userInterest.getSubcategory().getName(), email);
+                    userInterest.getSubcategory().getName(), userId);
         }
     }
 
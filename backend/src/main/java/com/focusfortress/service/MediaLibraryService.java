@@ -1,66 +1,96 @@
 package com.focusfortress.service;
 
 import com.focusfortress.dto.AddMediaItemDTO;
+import com.focusfortress.dto.MediaLibraryItemDTO;
+import com.focusfortress.dto.MediaLibraryPageDTO;
 import com.focusfortress.dto.UpdateMediaStatusDTO;
 import com.focusfortress.dto.UserMediaItemDTO;
 import com.focusfortress.exception.ResourceNotFoundException;
 import com.focusfortress.model.MediaStatus;
 import com.focusfortress.model.UserMediaItem;
+import com.focusfortress.model.Video;
 import com.focusfortress.repository.UserMediaItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MediaLibraryService {
 
     private final UserMediaItemRepository mediaItemRepository;
-
-    public List<UserMediaItemDTO> getUserLibrary(String userEmail) {
-        List<UserMediaItem> items = mediaItemRepository.findByUserEmailOrderByAddedAtDesc(userEmail);
-        return items.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    private final UserStatsService userStatsService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * One page of the library, newest first, optionally filtered by status and matched interest.
+     * {@code cursor} is the {@code nextCursor} of the previous page, or {@code null} for the first one.
+     */
+    public MediaLibraryPageDTO getLibraryPage(String userEmail, MediaStatus status, String interest,
+                                              String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LibraryCursor after = cursor != null && !cursor.isBlank() ? LibraryCursor.decode(cursor) : null;
+
+        LocalDateTime afterAddedAt = after != null ? after.addedAt() : null;
+        Long afterId = after != null ? after.id() : null;
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<MediaLibraryItemDTO> items = new ArrayList<>(status != null
+                ? mediaItemRepository.findLibraryPageByStatus(userEmail, status, interest, afterAddedAt, afterId, page)
+                : mediaItemRepository.findLibraryPage(userEmail, interest, afterAddedAt, afterId, page));
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            MediaLibraryItemDTO last = items.get(pageSize - 1);
+            nextCursor = new LibraryCursor(last.getAddedAt(), last.getId()).encode();
+        }
+        return new MediaLibraryPageDTO(items, nextCursor);
     }
 
-    public List<UserMediaItemDTO> getUserLibraryByStatus(String userEmail, MediaStatus status) {
-        List<UserMediaItem> items = mediaItemRepository.findByUserEmailAndStatus(userEmail, status);
-        return items.stream()
+    public UserMediaItemDTO getMediaItem(String userEmail, Long itemId) {
+        return mediaItemRepository.findByIdAndUserEmail(itemId, userEmail)
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new ResourceNotFoundException("Media item not found"));
     }
 
+    /**
+     * Adds the video to the user's library; {@code video} comes from {@link VideoCatalogService#getOrCreate},
+     * called before this transaction so that the YouTube lookup does not run inside it.
+     */
     @Transactional
-    public UserMediaItemDTO addMediaItem(String userEmail, AddMediaItemDTO dto) {
+    public UserMediaItemDTO addMediaItem(Long userId, String userEmail, Video video, AddMediaItemDTO dto) {
         // Check if video already exists in user's library
-        if (mediaItemRepository.existsByUserEmailAndVideoId(userEmail, dto.getVideoId())) {
+        if (mediaItemRepository.existsByUserEmailAndVideoVideoId(userEmail, video.getVideoId())) {
             throw new IllegalArgumentException("This video is already in your library");
         }
 
         UserMediaItem item = new UserMediaItem();
         item.setUserEmail(userEmail);
-        item.setVideoId(dto.getVideoId());
-        item.setTitle(dto.getTitle());
-        item.setChannelTitle(dto.getChannelTitle());
-        item.setThumbnailUrl(dto.getThumbnailUrl());
-        item.setDescription(dto.getDescription());
+        item.setVideo(video);
         item.setMatchedInterest(dto.getMatchedInterest());
         item.setStatus(dto.getStatus() != null ? dto.getStatus() : MediaStatus.WATCH_LATER);
         item.setNotes(dto.getNotes());
 
         UserMediaItem saved = mediaItemRepository.save(item);
+        userStatsService.mediaAdded(userId, saved.getStatus());
         return convertToDTO(saved);
     }
 
     @Transactional
-    public UserMediaItemDTO updateMediaStatus(String userEmail, Long itemId, UpdateMediaStatusDTO dto) {
+    public UserMediaItemDTO updateMediaStatus(Long userId, String userEmail, Long itemId, UpdateMediaStatusDTO dto) {
         UserMediaItem item = mediaItemRepository.findByIdAndUserEmail(itemId, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Media item not found"));
 
+        userStatsService.mediaStatusChanged(userId, item.getStatus(), dto.getStatus());
         item.setStatus(dto.getStatus());
 
         if (dto.getNotes() != null) {
@@ -72,21 +102,22 @@ public class MediaLibraryService {
     }
 
     @Transactional
-    public void deleteMediaItem(String userEmail, Long itemId) {
+    public void deleteMediaItem(Long userId, String userEmail, Long itemId) {
         UserMediaItem item = mediaItemRepository.findByIdAndUserEmail(itemId, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Media item not found"));
 
         mediaItemRepository.delete(item);
+        userStatsService.mediaRemoved(userId, item.getStatus());
     }
 
     private UserMediaItemDTO convertToDTO(UserMediaItem item) {
         UserMediaItemDTO dto = new UserMediaItemDTO();
         dto.setId(item.getId());
-        dto.setVideoId(item.getVideoId());
-        dto.setTitle(item.getTitle());
-        dto.setChannelTitle(item.getChannelTitle());
-        dto.setThumbnailUrl(item.getThumbnailUrl());
-        dto.setDescription(item.getDescription());
+        dto.setVideoId(item.getVideo().getVideoId());
+        dto.setTitle(item.getVideo().getTitle());
+        dto.setChannelTitle(item.getVideo().getChannelTitle());
+        dto.setThumbnailUrl(item.getVideo().getThumbnailUrl());
+        dto.setDescription(item.getVideo().getDescription());
         dto.setMatchedInterest(item.getMatchedInterest());
         dto.setStatus(item.getStatus());
         dto.setNotes(item.getNotes());
@@ -94,4 +125,25 @@ public class MediaLibraryService {
         dto.setUpdatedAt(item.getUpdatedAt());
         return dto;
     }
-}
\ No newline at end of file
+
+    // Position of the last item of a page: its (addedAt, id), opaque to clients
+    private record LibraryCursor(LocalDateTime addedAt, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((addedAt + "_" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static LibraryCursor decode(String cursor) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+                if (position.length != 2) {
+                    throw new IllegalStateException("Invalid library cursor");
+                }
+                return new LibraryCursor(LocalDateTime.parse(position[0]), Long.valueOf(position[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalStateException("Invalid library cursor");
+            }
+        }
+    }
+}
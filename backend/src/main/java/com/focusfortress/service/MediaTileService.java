@@ -4,20 +4,34 @@ import com.focusfortress.dto.VideoTileDTO;
 import com.focusfortress.model.InterestCategory;
 import com.focusfortress.model.CategoryStructure;
 import com.focusfortress.model.SubcategoryStructure;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class MediaTileService {
 
     private final InterestService interestService;
-    private final YouTubeApiClient youTubeApiClient;
+    private final YouTubeSearchCache youTubeSearchCache;
+    private final TilePool tilePool;
+    private final Duration deadline;
+
+    public MediaTileService(InterestService interestService,
+                            YouTubeSearchCache youTubeSearchCache,
+                            TilePool tilePool,
+                            @Value("${media.tiles.deadline-ms:4000}") long deadlineMillis) {
+        this.interestService = interestService;
+        this.youTubeSearchCache = youTubeSearchCache;
+        this.tilePool = tilePool;
+        this.deadline = Duration.ofMillis(deadlineMillis);
+    }
 
     // Map subcategory names to search queries
     private static final Map<String, List<String>> SUBCATEGORY_TO_QUERIES = buildQueryMap();
@@ -47,23 +61,37 @@ public class MediaTileService {
         }
 
         log.debug("Built query map for {} subcategories", queryMap.size());
-        return queryMap;
+        return Collections.unmodifiableMap(queryMap);
+    }
+
+    /**
+     * The search queries of every predefined subcategory, by subcategory name.
+     */
+    static Map<String, List<String>> predefinedQueries() {
+        return SUBCATEGORY_TO_QUERIES;
     }
 
-    public List<VideoTileDTO> getPersonalizedTiles(String email, int limit) {
-        Set<String> userSubcategories = interestService.getUserSubcategoryNames(email);
+    public List<VideoTileDTO> getPersonalizedTiles(Long userId, int limit) {
+        Set<String> userSubcategories = interestService.getUserSubcategoryNames(userId);
 
         if (userSubcategories.isEmpty()) {
-            log.warn("User {} has no interests", email);
+            log.warn("User {} has no interests", userId);
             return Collections.emptyList();
         }
 
-        List<VideoTileDTO> allTiles = new ArrayList<>();
+        List<TileQuery> tileQueries = new ArrayList<>();
+        List<VideoTileDTO> pooledTiles = new ArrayList<>();
 
         // For each subcategory, get 2-3 videos
         int videosPerSubcategory = Math.max(2, limit / userSubcategories.size());
 
         for (String subcategoryName : userSubcategories) {
+            List<VideoTileDTO> pooled = samplePool(subcategoryName, videosPerSubcategory);
+            if (!pooled.isEmpty()) {
+                pooledTiles.addAll(pooled);
+                continue;
+            }
+
             List<String> queries = SUBCATEGORY_TO_QUERIES.getOrDefault(subcategoryName, null);
 
             // If no predefined queries exist, it's likely a custom interest - generate queries dynamically
@@ -82,30 +110,26 @@ public class MediaTileService {
 
             log.info("Fetching YouTube videos for subcategory {} with query '{}'", subcategoryName, randomQuery);
 
-            List<VideoTileDTO> tiles = youTubeApiClient.searchEducationalVideos(randomQuery, videosPerSubcategory);
-
-            // Tag with subcategory
-            tiles.forEach(tile -> {
-                tile.setMatchedInterest(subcategoryName);
-            });
-
-            allTiles.addAll(tiles);
+            tileQueries.add(new TileQuery(subcategoryName, randomQuery, videosPerSubcategory));
         }
 
-        // Shuffle for variety
-        Collections.shuffle(allTiles);
-        return allTiles.stream().limit(limit).collect(Collectors.toList());
+        return fetchTiles(tileQueries, pooledTiles, limit);
     }
 
-    public List<VideoTileDTO> getTilesBySubcategory(String email, String subcategoryName, int limit) {
-        Set<String> userSubcategories = interestService.getUserSubcategoryNames(email);
+    public List<VideoTileDTO> getTilesBySubcategory(Long userId, String subcategoryName, int limit) {
+        Set<String> userSubcategories = interestService.getUserSubcategoryNames(userId);
 
         if (!userSubcategories.contains(subcategoryName)) {
             throw new IllegalArgumentException("User doesn't have this interest");
         }
 
+        List<VideoTileDTO> pooled = samplePool(subcategoryName, limit);
+        if (!pooled.isEmpty()) {
+            return pooled;
+        }
+
         List<String> queries = SUBCATEGORY_TO_QUERIES.getOrDefault(subcategoryName, List.of());
-        List<VideoTileDTO> allTiles = new ArrayList<>();
+        List<TileQuery> tileQueries = new ArrayList<>();
 
         // Randomly select subset of queries to get diverse content
         List<String> selectedQueries = new ArrayList<>(queries);
@@ -119,23 +143,17 @@ public class MediaTileService {
             String query = selectedQueries.get(i);
             log.info("Fetching videos for query: {}", query);
 
-            List<VideoTileDTO> tiles = youTubeApiClient.searchEducationalVideos(query, videosPerQuery);
-
-            tiles.forEach(tile -> {
-                tile.setMatchedInterest(subcategoryName);
-            });
-
-            allTiles.addAll(tiles);
+            tileQueries.add(new TileQuery(subcategoryName, query, videosPerQuery));
         }
 
-        Collections.shuffle(allTiles);
-        return allTiles.stream().limit(limit).collect(Collectors.toList());
+        return fetchTiles(tileQueries, List.of(), limit);
     }
 
-    public List<VideoTileDTO> getTilesBySubcategories(String email, List<String> subcategoryNames, int limit) {
-        Set<String> userSubcategories = interestService.getUserSubcategoryNames(email);
+    public List<VideoTileDTO> getTilesBySubcategories(Long userId, List<String> subcategoryNames, int limit) {
+        Set<String> userSubcategories = interestService.getUserSubcategoryNames(userId);
 
-        List<VideoTileDTO> allTiles = new ArrayList<>();
+        List<TileQuery> tileQueries = new ArrayList<>();
+        List<VideoTileDTO> pooledTiles = new ArrayList<>();
 
         if (subcategoryNames == null || subcategoryNames.isEmpty()) {
             log.warn("No subcategories provided for custom tiles");
@@ -147,7 +165,13 @@ public class MediaTileService {
 
         for (String subcategoryName : subcategoryNames) {
             if (!userSubcategories.contains(subcategoryName)) {
-                log.warn("User {} requested tiles for interest they don't have: {}", email, subcategoryName);
+                log.warn("User {} requested tiles for interest they don't have: {}", userId, subcategoryName);
+                continue;
+            }
+
+            List<VideoTileDTO> pooled = samplePool(subcategoryName, videosPerSubcategory);
+            if (!pooled.isEmpty()) {
+                pooledTiles.addAll(pooled);
                 continue;
             }
 
@@ -169,21 +193,59 @@ public class MediaTileService {
 
             log.info("Fetching YouTube videos for subcategory {} with query '{}'", subcategoryName, randomQuery);
 
-            List<VideoTileDTO> tiles = youTubeApiClient.searchEducationalVideos(randomQuery, videosPerSubcategory);
+            tileQueries.add(new TileQuery(subcategoryName, randomQuery, videosPerSubcategory));
+        }
+
+        return fetchTiles(tileQueries, pooledTiles, limit);
+    }
 
-            // Tag with subcategory
-            tiles.forEach(tile -> {
-                tile.setMatchedInterest(subcategoryName);
-            });
+    // Predefined subcategories are served from the pre-fetched pool once it has them; custom interests never are
+    private List<VideoTileDTO> samplePool(String subcategoryName, int count) {
+        return SUBCATEGORY_TO_QUERIES.containsKey(subcategoryName)
+                ? tilePool.sample(subcategoryName, count)
+                : Collections.emptyList();
+    }
 
-            allTiles.addAll(tiles);
+    /**
+     * Runs all searches in parallel and waits at most the configured deadline; searches still running
+     * by then are left out, so a slow query costs the user its tiles rather than the whole page.
+     */
+    private List<VideoTileDTO> fetchTiles(List<TileQuery> tileQueries, List<VideoTileDTO> pooledTiles, int limit) {
+        List<List<VideoTileDTO>> results = Flux.fromIterable(tileQueries)
+                .flatMap(this::fetchTiles)
+                .take(deadline)
+                .collectList()
+                .block();
+
+        if (results.size() < tileQueries.size()) {
+            log.warn("{} of {} YouTube searches missed the {} ms deadline, returning partial tiles",
+                    tileQueries.size() - results.size(), tileQueries.size(), deadline.toMillis());
         }
 
+        List<VideoTileDTO> allTiles = new ArrayList<>(pooledTiles);
+        results.forEach(allTiles::addAll);
+
         // Shuffle for variety
         Collections.shuffle(allTiles);
         return allTiles.stream().limit(limit).collect(Collectors.toList());
     }
 
+    private Mono<List<VideoTileDTO>> fetchTiles(TileQuery tileQuery) {
+        return youTubeSearchCache.searchEducationalVideos(tileQuery.query(), tileQuery.maxResults())
+                .map(tiles -> {
+                    // Tag with subcategory
+                    tiles.forEach(tile -> tile.setMatchedInterest(tileQuery.subcategoryName()));
+                    return tiles;
+                })
+                .onErrorResume(e -> {
+                    log.error("Fetching tiles for query '{}' failed: {}", tileQuery.query(), e.getMessage());
+                    return Mono.just(Collections.emptyList());
+                });
+    }
+
+    private record TileQuery(String subcategoryName, String query, int maxResults) {
+    }
+
     private List<String> generateCustomQueries(String subcategoryName) {
         List<String> queries = new ArrayList<>();
 
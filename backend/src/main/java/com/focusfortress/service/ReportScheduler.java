@@ -0,0 +1,186 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.ReportRun;
+import com.focusfortress.model.ReportSettings;
+import com.focusfortress.repository.ReportRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Sends automatic reports: weekly ones for the week starting Monday, monthly ones for the month
+ * starting on the 1st, both at midnight in the user's timezone. Users are grouped by zone and each zone has
+ * a run of its own. Due users are paged through by id in chunks; each chunk is generated in parallel
+ * and the run's checkpoint is saved after it, so a restarted run resumes where it stopped.
+ * Users whose report failed are retried by the next hourly run.
+ */
+@Slf4j
+@Component
+public class ReportScheduler {
+
+    static final String WEEKLY = "weekly";
+    static final String MONTHLY = "monthly";
+
+    private final ReportService reportService;
+    private final ReportRunRepository reportRunRepository;
+    private final UserClock userClock;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final boolean resumeOnStartup;
+
+    public ReportScheduler(
+            ReportService reportService,
+            ReportRunRepository reportRunRepository,
+            UserClock userClock,
+            MeterRegistry meterRegistry,
+            TaskScheduler taskScheduler,
+            @Value("${reports.automatic.workers:4}") int workerCount,
+            @Value("${reports.automatic.batch-size:200}") int batchSize,
+            @Value("${reports.automatic.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.reportService = reportService;
+        this.reportRunRepository = reportRunRepository;
+        this.userClock = userClock;
+        this.meterRegistry = meterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("report-worker-"));
+        this.batchSize = batchSize;
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    // Handed to the scheduler: a resumed run can take long and would hold up the other ready listeners
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (resumeOnStartup) {
+            taskScheduler.schedule(this::runDueReports, Instant.now());
+        }
+    }
+
+    // Runs hourly so a period missed while the application was down is still picked up
+    @Scheduled(cron = "${reports.automatic.cron:0 0 * * * *}")
+    public synchronized void runDueReports() {
+        for (String frequency : List.of(WEEKLY, MONTHLY)) {
+            // Timezone values as stored on the users, grouped by the zone they resolve to
+            Map<ZoneId, List<String>> timezonesByZone = reportService.findAutomaticReportTimezones(frequency).stream()
+                    .collect(Collectors.groupingBy(userClock::zoneOf));
+            timezonesByZone.forEach((zone, timezones) -> run(frequency, zone, timezones));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(String frequency, ZoneId zone, List<String> timezones) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate periodStart = WEEKLY.equals(frequency)
+                ? today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : today.withDayOfMonth(1);
+        ReportRun run = reportRunRepository.findByFrequencyAndPeriodStartAndTimezone(frequency, periodStart, zone.getId())
+                .orElseGet(() -> ReportRun.builder()
+                        .frequency(frequency)
+                        .periodStart(periodStart)
+                        .timezone(zone.getId())
+                        .startedAt(LocalDateTime.now())
+                        .build());
+        if (run.getFinishedAt() != null) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long processedBefore = run.getProcessed();
+        // lastReportAt is stored in the server's zone, so the user's midnight is compared in it too
+        LocalDateTime periodStartTime = periodStart.atStartOfDay(zone)
+                .withZoneSameInstant(ZoneId.systemDefault())
+                .toLocalDateTime();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<ReportSettings> batch = reportService.findDueAutomaticReports(
+                    frequency, timezones, periodStartTime, run.getLastSettingsId(), batchSize);
+            if (batch.isEmpty()) {
+                // Users whose report failed are still due, as marking them reported rolled back with it.
+                // The run only finishes once nobody is; until then the next run starts over from the first id.
+                if (reportService.findDueAutomaticReports(frequency, timezones, periodStartTime, 0L, 1).isEmpty()) {
+                    run.setFinishedAt(LocalDateTime.now());
+                } else {
+                    run.setLastSettingsId(0L);
+                }
+                run = reportRunRepository.save(run);
+                break;
+            }
+
+            int failed = sendInParallel(frequency, batch, periodStartTime);
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down mid-chunk: keep the previous checkpoint, users already done are skipped on resume
+                break;
+            }
+            run.setLastSettingsId(batch.get(batch.size() - 1).getId());
+            run.setProcessed(run.getProcessed() + batch.size() - failed);
+            run.setFailed(run.getFailed() + failed);
+            run = reportRunRepository.save(run);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        Timer.builder("reports.automatic.run").tag("frequency", frequency).register(meterRegistry).record(elapsed);
+        long processed = run.getProcessed() - processedBefore;
+        if (processed > 0 || run.getFailed() > 0) {
+            log.info("Automatic {} reports for {} in {}: {} processed ({} failed in total) in {} ms, {} reports/s",
+                    frequency, periodStart, zone, processed, run.getFailed(), elapsed.toMillis(),
+                    elapsed.toMillis() > 0 ? processed * 1000 / elapsed.toMillis() : processed);
+        }
+    }
+
+    /**
+     * @return the number of reports in the batch that failed
+     */
+    private int sendInParallel(String frequency, List<ReportSettings> batch, LocalDateTime periodStart) {
+        List<Future<Boolean>> futures = new ArrayList<>(batch.size());
+        for (ReportSettings settings : batch) {
+            futures.add(workers.submit(() -> reportService.sendAutomaticReport(settings, periodStart)));
+        }
+
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            String result;
+            try {
+                result = futures.get(i).get() ? "sent" : "skipped";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return failed;
+            } catch (ExecutionException e) {
+                result = "failed";
+                failed++;
+                log.error("Automatic report for user {} failed: {}",
+                        batch.get(i).getUser().getId(), e.getCause().getMessage());
+            }
+            meterRegistry.counter("reports.automatic.reports", "frequency", frequency, "result", result).increment();
+        }
+        return failed;
+    }
+}
@@ -2,40 +2,52 @@ package com.focusfortress.service;
 
 import com.focusfortress.dto.ReportSettingsDTO;
 import com.focusfortress.dto.UserReportDTO;
+import com.focusfortress.exception.NotFoundException;
 import com.focusfortress.model.*;
 import com.focusfortress.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReportService {
 
     private final ReportSettingsRepository reportSettingsRepository;
-    private final HabitRepository habitRepository;
     private final UserInterestRepository userInterestRepository;
-    private final UserMediaItemRepository userMediaItemRepository;
     private final CounterRepository counterRepository;
+    private final UserStatsService userStatsService;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final UserClock userClock;
+    private final MeterRegistry meterRegistry;
 
     @Transactional(readOnly = true)
-    public ReportSettings getReportSettings(User user) {
-        return reportSettingsRepository.findByUser(user).orElse(null);
+    public ReportSettings getReportSettings(Long userId) {
+        return reportSettingsRepository.findByUserId(userId).orElse(null);
     }
 
     @Transactional
-    public ReportSettings saveReportSettings(User user, ReportSettingsDTO settingsDTO) {
-        ReportSettings settings = reportSettingsRepository.findByUser(user)
-                .orElse(new ReportSettings());
+    public ReportSettings saveReportSettings(Long userId, ReportSettingsDTO settingsDTO) {
+        ReportSettings settings = reportSettingsRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    ReportSettings created = new ReportSettings();
+                    created.setUser(userRepository.getReferenceById(userId));
+                    return created;
+                });
 
-        settings.setUser(user);
         settings.setIncludeActiveHabits(settingsDTO.isIncludeActiveHabits());
         settings.setIncludeCompletedHabits(settingsDTO.isIncludeCompletedHabits());
         settings.setIncludeInterests(settingsDTO.isIncludeInterests());
@@ -49,48 +61,31 @@ public class ReportService {
 
     @Transactional(readOnly = true)
     public UserReportDTO generateReport(User user, ReportSettingsDTO settings) {
-        System.out.println("=== Generating Report for user: " + user.getEmail() + " ===");
-        System.out.println("Settings: activeHabits=" + settings.isIncludeActiveHabits() +
-                ", completedHabits=" + settings.isIncludeCompletedHabits() +
-                ", interests=" + settings.isIncludeInterests() +
-                ", mediaLibrary=" + settings.isIncludeMediaLibrary() +
-                ", counters=" + settings.isIncludeCounters());
+        long started = System.nanoTime();
 
         UserReportDTO.UserReportDTOBuilder reportBuilder = UserReportDTO.builder()
                 .userName(user.getName())
                 .email(user.getEmail())
-                .generatedAt(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                .generatedAt(userClock.now(user).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+
+        // Habit, media and counter totals come from the maintained summary row
+        UserStats stats = userStatsService.getStats(user.getId(), user.getEmail());
 
-        // Include active habits count
         if (settings.isIncludeActiveHabits()) {
-            List<Habit> allHabits = habitRepository.findByUserId(user.getId());
-            long activeCount = allHabits.stream()
-                    .filter(h -> !h.isDone())
-                    .count();
-            System.out.println("Active Habits: " + activeCount + " (from " + allHabits.size() + " total)");
-            reportBuilder.activeHabitsCount((int) activeCount);
+            reportBuilder.activeHabitsCount(stats.getActiveHabits());
         }
-
-        // Include completed habits count
         if (settings.isIncludeCompletedHabits()) {
-            List<Habit> allHabits = habitRepository.findByUserId(user.getId());
-            long completedCount = allHabits.stream()
-                    .filter(Habit::isDone)
-                    .count();
-            System.out.println("Completed Habits: " + completedCount);
-            reportBuilder.completedHabitsCount((int) completedCount);
+            reportBuilder.completedHabitsCount(stats.getCompletedHabits());
         }
 
         // Include interests
         if (settings.isIncludeInterests()) {
-            List<UserInterest> userInterests = userInterestRepository.findByUserIdOrderBySelectedAtDesc(user.getId());
-            System.out.println("User Interests: " + userInterests.size() + " found");
-
-            List<UserReportDTO.InterestInfo> interests = userInterests.stream()
-                    .map(ui -> UserReportDTO.InterestInfo.builder()
-                            .name(ui.getSubcategory().getName())
-                            .emoji(ui.getSubcategory().getIcon())
-                            .categoryName(ui.getSubcategory().getCategory().getName())
+            List<UserReportDTO.InterestInfo> interests = userInterestRepository.findInterestSummariesByUserId(user.getId())
+                    .stream()
+                    .map(row -> UserReportDTO.InterestInfo.builder()
+                            .name((String) row[0])
+                            .emoji((String) row[1])
+                            .categoryName((String) row[2])
                             .build())
                     .collect(Collectors.toList());
             reportBuilder.interests(interests);
@@ -98,54 +93,25 @@ public class ReportService {
 
         // Include media library stats
         if (settings.isIncludeMediaLibrary()) {
-            List<UserMediaItem> mediaItems = userMediaItemRepository.findByUserEmailOrderByAddedAtDesc(user.getEmail());
-            System.out.println("Media Items: " + mediaItems.size() + " found");
-
-            long watchLater = mediaItems.stream()
-                    .filter(m -> m.getStatus() == MediaStatus.WATCH_LATER)
-                    .count();
-            long currentlyWatching = mediaItems.stream()
-                    .filter(m -> m.getStatus() == MediaStatus.CURRENTLY_WATCHING)
-                    .count();
-            long finished = mediaItems.stream()
-                    .filter(m -> m.getStatus() == MediaStatus.FINISHED)
-                    .count();
-
-            System.out.println("Media breakdown - WatchLater: " + watchLater +
-                    ", CurrentlyWatching: " + currentlyWatching + ", Finished: " + finished);
-
             UserReportDTO.MediaLibraryStats mediaStats = UserReportDTO.MediaLibraryStats.builder()
-                    .watchLater((int) watchLater)
-                    .currentlyWatching((int) currentlyWatching)
-                    .finished((int) finished)
-                    .total(mediaItems.size())
+                    .watchLater(stats.getMediaWatchLater())
+                    .currentlyWatching(stats.getMediaCurrentlyWatching())
+                    .finished(stats.getMediaFinished())
+                    .total(stats.getMediaTotal())
                     .build();
             reportBuilder.mediaLibraryStats(mediaStats);
         }
 
-        // Include counters stats
+        // Include counters stats; the longest streak belongs to the counter started first
         if (settings.isIncludeCounters()) {
-            List<Counter> counters = counterRepository.findByUserId(user.getId());
-            int totalCounters = counters.size();
-            System.out.println("Counters: " + totalCounters + " found");
-
-            // Calculate streaks based on startDateTime
-            Counter longestStreakCounter = counters.stream()
-                    .max((c1, c2) -> {
-                        long streak1 = java.time.temporal.ChronoUnit.DAYS.between(c1.getStartDateTime(), LocalDateTime.now());
-                        long streak2 = java.time.temporal.ChronoUnit.DAYS.between(c2.getStartDateTime(), LocalDateTime.now());
-                        return Long.compare(streak1, streak2);
-                    })
-                    .orElse(null);
-
-            int longestStreak = 0;
-            if (longestStreakCounter != null) {
-                longestStreak = (int) java.time.temporal.ChronoUnit.DAYS.between(
-                        longestStreakCounter.getStartDateTime(), LocalDateTime.now());
-                System.out.println("Longest streak: " + longestStreak + " days (" + longestStreakCounter.getName() + ")");
-            } else {
-                System.out.println("No counters with streaks found");
-            }
+            int totalCounters = stats.getCounters();
+            Counter longestStreakCounter = totalCounters > 0
+                    ? counterRepository.findFirstByUserIdOrderByStartDateTimeAsc(user.getId()).orElse(null)
+                    : null;
+
+            int longestStreak = longestStreakCounter != null
+                    ? (int) ChronoUnit.DAYS.between(longestStreakCounter.getStartDateTime(), userClock.now(user))
+                    : 0;
 
             UserReportDTO.CountersStats countersStats = UserReportDTO.CountersStats.builder()
                     .totalCounters(totalCounters)
@@ -156,17 +122,61 @@ public class ReportService {
         }
 
         UserReportDTO report = reportBuilder.build();
-        System.out.println("=== Report Generated - Sections included: " +
-                (report.getActiveHabitsCount() != null ? "Habits " : "") +
-                (report.getInterests() != null ? "Interests " : "") +
-                (report.getMediaLibraryStats() != null ? "Media " : "") +
-                (report.getCountersStats() != null ? "Counters" : "") + " ===");
+        meterRegistry.timer("reports.generation").record(Duration.ofNanos(System.nanoTime() - started));
+        log.debug("Generated report for user {} (habits={}, interests={}, media={}, counters={})",
+                user.getId(),
+                report.getActiveHabitsCount() != null || report.getCompletedHabitsCount() != null,
+                report.getInterests() != null,
+                report.getMediaLibraryStats() != null,
+                report.getCountersStats() != null);
         return report;
     }
 
+    @Transactional
+    public void generateAndSendReport(Long userId, ReportSettingsDTO settings) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        generateAndSendReport(user, settings);
+    }
+
     @Transactional
     public void generateAndSendReport(User user, ReportSettingsDTO settings) {
         UserReportDTO report = generateReport(user, settings);
         emailService.sendProgressReport(user.getEmail(), report);
     }
+
+    /**
+     * Timezone settings of the users with automatic reports at this frequency, '' for users without one.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findAutomaticReportTimezones(String frequency) {
+        return reportSettingsRepository.findAutomaticReportTimezones(frequency);
+    }
+
+    /**
+     * Next chunk of settings (with their user) of users with one of the {@code timezones} that are due for an
+     * automatic report in the period starting at {@code periodStart}, keyset-paginated by id.
+     * {@code periodStart} is in the server's zone, like the {@code lastReportAt} it is compared with.
+     */
+    @Transactional(readOnly = true)
+    public List<ReportSettings> findDueAutomaticReports(String frequency, Collection<String> timezones,
+                                                        LocalDateTime periodStart, Long afterId, int batchSize) {
+        return reportSettingsRepository.findDueForAutomaticReport(frequency, timezones, periodStart, afterId,
+                PageRequest.of(0, batchSize));
+    }
+
+    /**
+     * Generates the automatic report of one user and queues it for delivery, in one transaction
+     * with marking it as sent for the period.
+     *
+     * @return false if the report for this period had already been sent
+     */
+    @Transactional
+    public boolean sendAutomaticReport(ReportSettings settings, LocalDateTime periodStart) {
+        if (reportSettingsRepository.markReported(settings.getId(), periodStart, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        generateAndSendReport(settings.getUser(), ReportSettingsDTO.fromEntity(settings));
+        return true;
+    }
 }
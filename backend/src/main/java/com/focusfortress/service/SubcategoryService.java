@@ -8,6 +8,7 @@ import com.focusfortress.repository.CategoryRepository;
 import com.focusfortress.repository.SubcategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -20,17 +21,18 @@ public class SubcategoryService {
 
     private final SubcategoryRepository subcategoryRepository;
     private final CategoryRepository categoryRepository;
+    private final CatalogCache catalogCache;
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<SubcategoryDTO> getSubcategoriesForCategory(Long categoryId) {
-        return subcategoryRepository.findByCategoryId(categoryId).stream()
+        return catalogCache.snapshot().getSubcategoriesOf(categoryId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SubcategoryDTO getSubcategoryById(Long id) {
-        Subcategory subcategory = subcategoryRepository.findById(id)
+        CatalogSnapshot.SubcategoryEntry subcategory = catalogCache.snapshot().findSubcategory(id)
                 .orElseThrow(() -> new NotFoundException("Subcategory not found"));
         return convertToDTO(subcategory);
     }
@@ -50,6 +52,7 @@ public class SubcategoryService {
                 .build();
 
         Subcategory saved = subcategoryRepository.save(subcategory);
+        catalogCache.invalidate();
         return convertToDTO(saved);
     }
 
@@ -82,6 +85,7 @@ public class SubcategoryService {
         }
 
         Subcategory updated = subcategoryRepository.save(subcategory);
+        catalogCache.invalidate();
         return convertToDTO(updated);
     }
 
@@ -89,6 +93,7 @@ public class SubcategoryService {
         Subcategory subcategory = subcategoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Subcategory not found"));
         subcategoryRepository.delete(subcategory);
+        catalogCache.invalidate();
     }
 
     private SubcategoryDTO convertToDTO(Subcategory subcategory) {
@@ -99,4 +104,13 @@ public class SubcategoryService {
                 subcategory.getCategory().getId()
         );
     }
+
+    private SubcategoryDTO convertToDTO(CatalogSnapshot.SubcategoryEntry subcategory) {
+        return new SubcategoryDTO(
+                subcategory.id(),
+                subcategory.name(),
+                subcategory.icon(),
+                subcategory.categoryId()
+        );
+    }
 }
\ No newline at end of file
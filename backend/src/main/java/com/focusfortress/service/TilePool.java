@@ -0,0 +1,74 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-fetched tiles of the predefined subcategory queries, filled by {@link TilePrewarmJob}.
+ * Each subcategory keeps the latest result of every one of its queries; tile requests sample from their union.
+ */
+@Component
+public class TilePool {
+
+    private record PooledResult(List<VideoTileDTO> tiles, Instant fetchedAt) {
+    }
+
+    // subcategory name -> query -> latest result
+    private final Map<String, Map<String, PooledResult>> pools = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public TilePool(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("media.tile.pool.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("media.tile.pool.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("media.tile.pool.subcategories", pools, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code count} random pooled tiles of the subcategory, tagged with it; empty if it was not fetched yet.
+     */
+    public List<VideoTileDTO> sample(String subcategoryName, int count) {
+        Map<String, PooledResult> results = pools.get(subcategoryName);
+        if (results == null) {
+            misses.increment();
+            return Collections.emptyList();
+        }
+        hits.increment();
+
+        Map<String, VideoTileDTO> byVideoId = new LinkedHashMap<>();
+        results.values().forEach(result -> result.tiles().forEach(tile -> byVideoId.putIfAbsent(tile.getVideoId(), tile)));
+        List<VideoTileDTO> candidates = new ArrayList<>(byVideoId.values());
+        Collections.shuffle(candidates);
+
+        return candidates.stream()
+                .limit(count)
+                .map(tile -> new VideoTileDTO(tile.getVideoId(), tile.getTitle(), tile.getChannelTitle(),
+                        tile.getThumbnailUrl(), tile.getDescription(), subcategoryName))
+                .toList();
+    }
+
+    public void put(String subcategoryName, String query, List<VideoTileDTO> tiles) {
+        pools.computeIfAbsent(subcategoryName, name -> new ConcurrentHashMap<>())
+                .put(query, new PooledResult(List.copyOf(tiles), Instant.now()));
+    }
+
+    /**
+     * When the query's result was last fetched, or {@code null} if never.
+     */
+    public Instant fetchedAt(String subcategoryName, String query) {
+        Map<String, PooledResult> results = pools.get(subcategoryName);
+        PooledResult result = results != null ? results.get(query) : null;
+        return result != null ? result.fetchedAt() : null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import com.focusfortress.repository.UserInterestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps {@link TilePool} filled with results of the predefined subcategory queries within a daily share of
+ * the YouTube quota. Each run refreshes the stalest query of as many subcategories as its allowance permits:
+ * subcategories with nothing pooled yet first, then by how many users selected them. Subcategories nobody
+ * selected are skipped. Fetched videos are recorded in the shared video catalog.
+ */
+@Slf4j
+@Component
+public class TilePrewarmJob {
+
+    private record PrewarmTarget(String subcategoryName, String query, boolean pooled, long selectedBy, Instant fetchedAt) {
+    }
+
+    private final YouTubeApiClient youTubeApiClient;
+    private final TilePool tilePool;
+    private final VideoCatalogService videoCatalogService;
+    private final UserInterestRepository userInterestRepository;
+    private final int dailyQuotaUnits;
+    private final int searchesPerRun;
+    private final int resultsPerSearch;
+    private final Duration refreshAge;
+    private final boolean prewarmOnStartup;
+
+    private final AtomicInteger unitsSpent = new AtomicInteger();
+    private LocalDate budgetDay;
+
+    public TilePrewarmJob(
+            YouTubeApiClient youTubeApiClient,
+            TilePool tilePool,
+            VideoCatalogService videoCatalogService,
+            UserInterestRepository userInterestRepository,
+            MeterRegistry meterRegistry,
+            @Value("${media.prewarm.daily-quota-units:5000}") int dailyQuotaUnits,
+            @Value("${media.prewarm.searches-per-run:10}") int searchesPerRun,
+            @Value("${media.prewarm.results-per-search:25}") int resultsPerSearch,
+            @Value("${media.prewarm.refresh-hours:24}") long refreshHours,
+            @Value("${media.prewarm.on-startup:true}") boolean prewarmOnStartup) {
+        this.youTubeApiClient = youTubeApiClient;
+        this.tilePool = tilePool;
+        this.videoCatalogService = videoCatalogService;
+        this.userInterestRepository = userInterestRepository;
+        this.dailyQuotaUnits = dailyQuotaUnits;
+        this.searchesPerRun = searchesPerRun;
+        this.resultsPerSearch = resultsPerSearch;
+        this.refreshAge = Duration.ofHours(refreshHours);
+        this.prewarmOnStartup = prewarmOnStartup;
+        Gauge.builder("media.tile.prewarm.quota.used", unitsSpent, AtomicInteger::get).baseUnit("units").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmOnStartup() {
+        if (prewarmOnStartup) {
+            prewarm();
+        }
+    }
+
+    @Scheduled(cron = "${media.prewarm.cron:0 */30 * * * *}")
+    public synchronized void prewarm() {
+        LocalDate today = LocalDate.now(YouTubeQuotaGuard.QUOTA_RESET_ZONE);
+        if (!today.equals(budgetDay)) {
+            budgetDay = today;
+            unitsSpent.set(0);
+        }
+
+        int allowance = Math.min(searchesPerRun, (dailyQuotaUnits - unitsSpent.get()) / YouTubeApiClient.SEARCH_QUOTA_COST);
+        if (allowance <= 0) {
+            log.debug("Tile pre-warm budget of {} quota units used up for {}", dailyQuotaUnits, today);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        int fetched = 0;
+        for (PrewarmTarget target : selectTargets(allowance)) {
+            // Charged per API call: a search may fall back to a second call
+            if (dailyQuotaUnits - unitsSpent.get() < YouTubeApiClient.EDUCATIONAL_SEARCH_MAX_QUOTA_COST) {
+                log.debug("Tile pre-warm budget of {} quota units used up for {}", dailyQuotaUnits, today);
+                break;
+            }
+            List<VideoTileDTO> tiles = youTubeApiClient.searchEducationalVideos(target.query(), resultsPerSearch, unitsSpent::addAndGet);
+            if (tiles.isEmpty()) {
+                // Quota exhausted or API unavailable: the next run tries again
+                log.warn("Tile pre-warm stopped: no results for query '{}'", target.query());
+                break;
+            }
+            tilePool.put(target.subcategoryName(), target.query(), tiles);
+            videoCatalogService.record(tiles);
+            fetched++;
+        }
+
+        if (fetched > 0) {
+            log.info("Pre-warmed {} tile queries in {} ms, {} of {} daily quota units used",
+                    fetched, System.currentTimeMillis() - started, unitsSpent.get(), dailyQuotaUnits);
+        }
+    }
+
+    private List<PrewarmTarget> selectTargets(int limit) {
+        Map<String, Long> selectedBy = new HashMap<>();
+        for (Object[] row : userInterestRepository.countBySubcategoryName()) {
+            selectedBy.put((String) row[0], (Long) row[1]);
+        }
+
+        Instant staleBefore = Instant.now().minus(refreshAge);
+        List<PrewarmTarget> targets = new ArrayList<>();
+        MediaTileService.predefinedQueries().forEach((subcategoryName, queries) -> {
+            long users = selectedBy.getOrDefault(subcategoryName, 0L);
+            if (users == 0) {
+                return;
+            }
+
+            // The subcategory's stalest query; one that was never fetched is the stalest of all
+            String stalestQuery = null;
+            Instant stalestAt = null;
+            boolean pooled = false;
+            for (String query : queries) {
+                Instant fetchedAt = tilePool.fetchedAt(subcategoryName, query);
+                pooled |= fetchedAt != null;
+                Instant age = fetchedAt != null ? fetchedAt : Instant.EPOCH;
+                if (stalestAt == null || age.isBefore(stalestAt)) {
+                    stalestQuery = query;
+                    stalestAt = age;
+                }
+            }
+
+            if (stalestQuery != null && stalestAt.isBefore(staleBefore)) {
+                targets.add(new PrewarmTarget(subcategoryName, stalestQuery, pooled, users, stalestAt));
+            }
+        });
+
+        targets.sort(Comparator.comparing(PrewarmTarget::pooled)
+                .thenComparing(Comparator.comparingLong(PrewarmTarget::selectedBy).reversed())
+                .thenComparing(PrewarmTarget::fetchedAt));
+        return targets.subList(0, Math.min(limit, targets.size()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.User;
+import com.focusfortress.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendar days as seen by a user: "today" starts at midnight in the zone of their {@link User#getTimezone()}.
+ * A user's zone is looked up once and cached, so marking habits done and computing streaks costs no extra
+ * query; a missing or unknown timezone falls back to the default every account is created with.
+ */
+@Slf4j
+@Component
+public class UserClock {
+
+    public static final String DEFAULT_TIMEZONE = "Europe/Warsaw";
+
+    private static final ZoneId DEFAULT_ZONE = ZoneId.of(DEFAULT_TIMEZONE);
+
+    private final UserRepository userRepository;
+    private final Map<Long, ZoneId> zonesByUser = new ConcurrentHashMap<>();
+    private final Map<String, ZoneId> zonesByTimezone = new ConcurrentHashMap<>();
+
+    public UserClock(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public LocalDate today(Long userId) {
+        return LocalDate.now(zone(userId));
+    }
+
+    public LocalDateTime now(Long userId) {
+        return LocalDateTime.now(zone(userId));
+    }
+
+    public LocalDateTime now(User user) {
+        return LocalDateTime.now(zone(user));
+    }
+
+    public ZoneId zone(Long userId) {
+        ZoneId zone = zonesByUser.get(userId);
+        if (zone == null) {
+            zone = resolve(userRepository.findTimezoneById(userId).orElse(null));
+            zonesByUser.putIfAbsent(userId, zone);
+        }
+        return zone;
+    }
+
+    /**
+     * The zone of an already loaded user; also refreshes the cached one.
+     */
+    public ZoneId zone(User user) {
+        ZoneId zone = resolve(user.getTimezone());
+        zonesByUser.put(user.getId(), zone);
+        return zone;
+    }
+
+    /**
+     * The zone a user with this timezone setting gets; blank or unknown ones fall back to the default.
+     */
+    public ZoneId zoneOf(String timezone) {
+        return resolve(timezone);
+    }
+
+    private ZoneId resolve(String timezone) {
+        if (timezone == null || timezone.isBlank()) {
+            return DEFAULT_ZONE;
+        }
+        return zonesByTimezone.computeIfAbsent(timezone, id -> {
+            try {
+                return ZoneId.of(id);
+            } catch (DateTimeException e) {
+                log.warn("Unknown timezone '{}', using {}", id, DEFAULT_TIMEZONE);
+                return DEFAULT_ZONE;
+            }
+        });
+    }
+}
@@ -5,6 +5,7 @@ import com.focusfortress.dto.UserRegistrationDTO;
 import com.focusfortress.model.Role;
 import com.focusfortress.model.User;
 import com.focusfortress.repository.UserRepository;
+import com.focusfortress.security.AuthenticatedPrincipalCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +21,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final InterestService interestService;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final UserStatsService userStatsService;
 
     @Transactional
     public User registerUser(UserRegistrationDTO userDTO) {
@@ -38,9 +41,10 @@ public class UserService {
                 token
         );
 
-        user.setTimezone("Europe/Warsaw"); // Default value, user can change it later
+        user.setTimezone(UserClock.DEFAULT_TIMEZONE); // Default value, user can change it later
 
         userRepository.save(user);
+        userStatsService.initialize(user.getId());
 
         // Create UserInterest entities + Categories/Subcategories based on selected subcategory names
         interestService.createInitialInterestsForUser(user, userDTO.getSelectedInterests());
@@ -59,5 +63,6 @@ public class UserService {
         user.setVerificationToken(null);
 
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.focusfortress.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies every user's summary row against the habit, media, counter and interest tables,
+ * creating rows for users that predate it and repairing drift.
+ */
+@Slf4j
+@Component
+public class UserStatsReconciliationJob {
+
+    private final UserStatsService userStatsService;
+    private final int batchSize;
+    private final boolean reconcileOnStartup;
+
+    public UserStatsReconciliationJob(
+            UserStatsService userStatsService,
+            @Value("${stats.reconcile-batch-size:500}") int batchSize,
+            @Value("${stats.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.userStatsService = userStatsService;
+        this.batchSize = batchSize;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcileAll();
+        }
+    }
+
+    @Scheduled(cron = "${stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcileAll() {
+        long started = System.currentTimeMillis();
+        long processed = 0;
+        long corrected = 0;
+        Long afterId = 0L;
+
+        while (true) {
+            UserStatsService.StatsReconcileBatch batch = userStatsService.reconcile(afterId, batchSize);
+            if (batch.lastUserId() == null) {
+                break;
+            }
+            processed += batch.processed();
+            corrected += batch.corrected();
+            afterId = batch.lastUserId();
+        }
+
+        if (corrected > 0) {
+            log.warn("User stats reconciliation corrected {} of {} users in {} ms", corrected, processed, System.currentTimeMillis() - started);
+        } else {
+            log.info("User stats reconciliation verified {} users in {} ms", processed, System.currentTimeMillis() - started);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.MediaStatus;
+import com.focusfortress.model.UserStats;
+import com.focusfortress.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link UserStats} summary row of each user. The adjust methods join the caller's
+ * transaction and are called right after the change to the underlying rows.
+ */
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+    private final HabitRepository habitRepository;
+    private final UserMediaItemRepository userMediaItemRepository;
+    private final CounterRepository counterRepository;
+    private final UserInterestRepository userInterestRepository;
+
+    public void initialize(Long userId) {
+        userStatsRepository.save(UserStats.builder().userId(userId).build());
+    }
+
+    public void habitCreated(Long userId) {
+        userStatsRepository.adjustHabits(userId, 1, 0);
+    }
+
+    public void habitCompleted(Long userId) {
+        userStatsRepository.adjustHabits(userId, -1, 1);
+    }
+
+    public void habitDeleted(Long userId, boolean done) {
+        userStatsRepository.adjustHabits(userId, done ? 0 : -1, done ? -1 : 0);
+    }
+
+    public void mediaAdded(Long userId, MediaStatus status) {
+        adjustMedia(userId, status, 1);
+    }
+
+    public void mediaRemoved(Long userId, MediaStatus status) {
+        adjustMedia(userId, status, -1);
+    }
+
+    public void mediaStatusChanged(Long userId, MediaStatus from, MediaStatus to) {
+        if (from != to) {
+            adjustMedia(userId, from, -1);
+            adjustMedia(userId, to, 1);
+        }
+    }
+
+    public void countersChanged(Long userId, int delta) {
+        if (delta != 0) {
+            userStatsRepository.adjustCounters(userId, delta);
+        }
+    }
+
+    public void interestsChanged(Long userId, int delta) {
+        if (delta != 0) {
+            userStatsRepository.adjustInterests(userId, delta);
+        }
+    }
+
+    /**
+     * The user's summary; computed from the source tables if the row does not exist yet
+     * (it is created by the next reconciliation).
+     */
+    @Transactional(readOnly = true)
+    public UserStats getStats(Long userId, String email) {
+        return userStatsRepository.findById(userId)
+                .orElseGet(() -> computeStats(Map.of(userId, email)).get(userId));
+    }
+
+    /**
+     * Verifies the summary rows of up to {@code batchSize} users with an id greater than
+     * {@code afterId} against the source tables, creating missing rows and fixing drifted ones.
+     * Runs under READ COMMITTED: under MySQL's default REPEATABLE READ the counts would be read from the
+     * snapshot taken by the first query, before the lock, and overwrite increments committed in between.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public StatsReconcileBatch reconcile(Long afterId, int batchSize) {
+        List<Object[]> users = userRepository.findIdsAndEmailsAfter(afterId, PageRequest.of(0, batchSize));
+        if (users.isEmpty()) {
+            return new StatsReconcileBatch(null, 0, 0);
+        }
+
+        Map<Long, String> emailsById = new LinkedHashMap<>();
+        for (Object[] row : users) {
+            emailsById.put((Long) row[0], (String) row[1]);
+        }
+
+        // Lock first, count second: each count sees every increment committed before the lock,
+        // and increments after it wait for this batch and apply on top of the corrected values
+        Map<Long, UserStats> stored = userStatsRepository.findByUserIdIn(emailsById.keySet()).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+        Map<Long, UserStats> actual = computeStats(emailsById);
+
+        int corrected = 0;
+        for (UserStats expected : actual.values()) {
+            UserStats current = stored.get(expected.getUserId());
+            if (current == null) {
+                userStatsRepository.save(expected);
+                corrected++;
+            } else if (!current.sameCountsAs(expected)) {
+                current.copyCountsFrom(expected);
+                corrected++;
+            }
+        }
+
+        Long lastUserId = (Long) users.get(users.size() - 1)[0];
+        return new StatsReconcileBatch(lastUserId, users.size(), corrected);
+    }
+
+    private Map<Long, UserStats> computeStats(Map<Long, String> emailsById) {
+        Map<Long, UserStats> stats = new HashMap<>();
+        emailsById.keySet().forEach(userId -> stats.put(userId, UserStats.builder().userId(userId).build()));
+
+        for (Object[] row : habitRepository.countByDoneForUsers(emailsById.keySet())) {
+            UserStats userStats = stats.get((Long) row[0]);
+            int count = ((Long) row[2]).intValue();
+            if ((Boolean) row[1]) {
+                userStats.setCompletedHabits(count);
+            } else {
+                userStats.setActiveHabits(count);
+            }
+        }
+
+        Map<String, Long> idsByEmail = new HashMap<>();
+        emailsById.forEach((userId, email) -> idsByEmail.put(email, userId));
+        for (Object[] row : userMediaItemRepository.countByStatusForUsers(idsByEmail.keySet())) {
+            UserStats userStats = stats.get(idsByEmail.get((String) row[0]));
+            int count = ((Long) row[2]).intValue();
+            switch ((MediaStatus) row[1]) {
+                case WATCH_LATER -> userStats.setMediaWatchLater(count);
+                case CURRENTLY_WATCHING -> userStats.setMediaCurrentlyWatching(count);
+                case FINISHED -> userStats.setMediaFinished(count);
+            }
+        }
+
+        for (Object[] row : counterRepository.countForUsers(emailsById.keySet())) {
+            stats.get((Long) row[0]).setCounters(((Long) row[1]).intValue());
+        }
+        for (Object[] row : userInterestRepository.countForUsers(emailsById.keySet())) {
+            stats.get((Long) row[0]).setInterests(((Long) row[1]).intValue());
+        }
+        return stats;
+    }
+
+    private void adjustMedia(Long userId, MediaStatus status, int delta) {
+        userStatsRepository.adjustMedia(userId,
+                status == MediaStatus.WATCH_LATER ? delta : 0,
+                status == MediaStatus.CURRENTLY_WATCHING ? delta : 0,
+                status == MediaStatus.FINISHED ? delta : 0);
+    }
+
+    public record StatsReconcileBatch(Long lastUserId, int processed, int corrected) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import com.focusfortress.exception.NotFoundException;
+import com.focusfortress.exception.ServiceUnavailableException;
+import com.focusfortress.model.Video;
+import com.focusfortress.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class VideoCatalogService {
+
+    private final VideoRepository videoRepository;
+    private final YouTubeApiClient youTubeApiClient;
+
+    /**
+     * Records search results in the catalog: new videos are inserted, known ones get their metadata refreshed.
+     */
+    public void record(Collection<VideoTileDTO> tiles) {
+        Map<String, VideoTileDTO> tilesById = new LinkedHashMap<>();
+        tiles.forEach(tile -> tilesById.putIfAbsent(tile.getVideoId(), tile));
+
+        Map<String, Video> known = videoRepository.findByVideoIdIn(tilesById.keySet()).stream()
+                .collect(Collectors.toMap(Video::getVideoId, Function.identity()));
+
+        List<Video> created = new ArrayList<>();
+        tilesById.forEach((videoId, tile) -> {
+            Video video = known.get(videoId);
+            if (video == null) {
+                created.add(Video.builder()
+                        .videoId(videoId)
+                        .title(tile.getTitle())
+                        .channelTitle(tile.getChannelTitle())
+                        .thumbnailUrl(tile.getThumbnailUrl())
+                        .description(tile.getDescription())
+                        .build());
+            } else {
+                // Unchanged values leave the entity clean, so only videos whose metadata changed are updated
+                video.setTitle(tile.getTitle());
+                video.setChannelTitle(tile.getChannelTitle());
+                video.setThumbnailUrl(tile.getThumbnailUrl());
+                video.setDescription(tile.getDescription());
+            }
+        });
+        videoRepository.saveAll(created);
+    }
+
+    /**
+     * The catalog entry of the video. A video not in the catalog yet is looked up on YouTube (videos.list, 1 quota
+     * unit): catalog rows are shared by all users, so they only ever hold metadata that came from YouTube itself,
+     * never what a client sent.
+     * <p>
+     * Runs outside any transaction so that no connection is held open during the YouTube call: call it before
+     * starting the transaction that references the video. When two requests add the same new video, the one
+     * that inserts second reads the row the first one stored.
+     *
+     * @throws NotFoundException if YouTube does not know the video
+     * @throws ServiceUnavailableException if YouTube cannot be reached or the quota is used up
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Video getOrCreate(String videoId) {
+        Optional<Video> known = videoRepository.findById(videoId);
+        if (known.isPresent()) {
+            return known.get();
+        }
+
+        VideoTileDTO fetched;
+        try {
+            fetched = youTubeApiClient.fetchVideo(videoId)
+                    .orElseThrow(() -> new NotFoundException("Video not found on YouTube"));
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Could not fetch video {} from YouTube: {}", videoId, e.getMessage());
+            throw new ServiceUnavailableException("Video details are unavailable right now, please try again later");
+        }
+
+        try {
+            return videoRepository.save(Video.builder()
+                    .videoId(videoId)
+                    .title(fetched.getTitle())
+                    .channelTitle(fetched.getChannelTitle())
+                    .thumbnailUrl(fetched.getThumbnailUrl())
+                    .description(fetched.getDescription())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Stored by a concurrent request meanwhile
+            return videoRepository.findById(videoId).orElseThrow(() -> e);
+        }
+    }
+}
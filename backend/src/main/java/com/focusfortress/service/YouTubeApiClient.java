@@ -2,138 +2,241 @@ package com.focusfortress.service;
 
 import com.focusfortress.dto.VideoTileDTO;
 import com.focusfortress.exception.QuotaExceededException;
-import com.focusfortress.youtube.*;
+import com.focusfortress.youtube.YouTubeSearchParser;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class YouTubeApiClient {
 
+    // search.list costs 100 units of the daily YouTube Data API quota
+    static final int SEARCH_QUOTA_COST = 100;
+    // An educational search makes a second search.list call when the category-filtered one fails or comes back empty
+    static final int EDUCATIONAL_SEARCH_MAX_QUOTA_COST = 2 * SEARCH_QUOTA_COST;
+    // videos.list costs 1 unit
+    static final int VIDEO_QUOTA_COST = 1;
+    private static final String EDUCATION_CATEGORY_ID = "27";
+
     private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
     private final String apiKey;
+    private final Duration timeout;
+    private final int maxResponseBytes;
+    private final YouTubeQuotaGuard quotaGuard;
+    private final EducationalContentClassifier classifier;
 
     public YouTubeApiClient(
             @Value("${youtube.api.key}") String apiKey,
-            @Value("${youtube.api.base-url}") String baseUrl) {
+            @Value("${youtube.api.base-url}") String baseUrl,
+            @Value("${youtube.api.timeout-ms:3000}") long timeoutMillis,
+            @Value("${youtube.api.max-connections:50}") int maxConnections,
+            @Value("${youtube.api.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${youtube.api.http2:true}") boolean http2,
+            @Value("${youtube.api.max-response-kb:512}") int maxResponseKb,
+            YouTubeQuotaGuard quotaGuard,
+            EducationalContentClassifier classifier) {
         this.apiKey = apiKey;
-        this.webClient = WebClient.builder().baseUrl(baseUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.maxResponseBytes = maxResponseKb * 1024;
+        this.quotaGuard = quotaGuard;
+        this.classifier = classifier;
+
+        // Pooled keep-alive connections; HTTP/2 is negotiated over TLS and falls back to HTTP/1.1
+        this.connectionProvider = ConnectionProvider.builder("youtube-api")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .pendingAcquireTimeout(timeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(http2 ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11} : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .compress(true)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
     }
 
     /**
      * Search YouTube videos with educational filter
      */
     public List<VideoTileDTO> searchEducationalVideos(String query, int maxResults) {
-        try {
-            log.info("Calling YouTube API with query: '{}', maxResults: {}", query, maxResults);
-
-            YouTubeSearchResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/search")
-                            .queryParam("part", "snippet")
-                            .queryParam("q", query)
-                            .queryParam("type", "video")
-                            .queryParam("videoCategoryId", "27")  // 27 = Education
-                            .queryParam("maxResults", Math.min(maxResults, 50))
-                            .queryParam("safeSearch", "strict")
-                            .queryParam("videoEmbeddable", "true")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> clientResponse.bodyToMono(String.class)
-                                    .map(errorBody -> {
-                                        log.error("YouTube API error response: {}", errorBody);
-                                        // Check if it's a quota exceeded error
-                                        if (errorBody.contains("quotaExceeded")) {
-                                            log.warn("YouTube API quota exceeded. Returning empty results gracefully.");
-                                            return new QuotaExceededException("YouTube API quota exceeded");
-                                        }
-                                        return new RuntimeException("YouTube API error: " + errorBody);
-                                    }))
-                    .bodyToMono(YouTubeSearchResponse.class)
-                    .block();
-
-            if (response == null || response.getItems() == null || response.getItems().isEmpty()) {
-                log.warn("No results from YouTube API for query: {} with category filter, trying without category", query);
-                // try without category restriction
-                return searchWithoutCategory(query, maxResults);
-            }
+        return searchEducationalVideos(query, maxResults, units -> { });
+    }
 
-            List<VideoTileDTO> results = response.getItems().stream()
-                    .filter(item -> item.getId() != null && item.getId().getVideoId() != null)
-                    .map(this::convertToVideoTile)
-                    .collect(Collectors.toList());
+    /**
+     * {@link #searchEducationalVideos(String, int)} reporting the quota units of each API call it makes to
+     * {@code quotaSpent}, for callers that keep a budget of their own.
+     */
+    public List<VideoTileDTO> searchEducationalVideos(String query, int maxResults, IntConsumer quotaSpent) {
+        return searchEducationalVideosAsync(query, maxResults, quotaSpent).block();
+    }
 
-            log.info("YouTube API returned {} videos for query '{}'", results.size(), query);
-            return results;
+    /**
+     * Non-blocking {@link #searchEducationalVideos(String, int)}. Each API call is bounded by the configured timeout;
+     * failures other than an exhausted quota fall back to a search without the category filter. Calls the
+     * {@link YouTubeQuotaGuard} rejects complete empty right away.
+     */
+    public Mono<List<VideoTileDTO>> searchEducationalVideosAsync(String query, int maxResults) {
+        return searchEducationalVideosAsync(query, maxResults, units -> { });
+    }
 
-        } catch (QuotaExceededException e) {
-            log.warn("YouTube API quota exceeded for query '{}'. YouTube API daily quota limit has been reached.", query);
-            return Collections.emptyList();
-        } catch (Exception e) {
-            log.error("Error calling YouTube API for query '{}': {}", query, e.getMessage());
-            // ry without category restriction
-            log.info("Attempting fallback without category restriction for query: {}", query);
-            return searchWithoutCategory(query, maxResults);
-        }
+    private Mono<List<VideoTileDTO>> searchEducationalVideosAsync(String query, int maxResults, IntConsumer quotaSpent) {
+        log.info("Calling YouTube API with query: '{}', maxResults: {}", query, maxResults);
+
+        return search(query, maxResults, true, quotaSpent)
+                .flatMap(results -> {
+                    if (results.isEmpty()) {
+                        log.warn("No results from YouTube API for query: {} with category filter, trying without category", query);
+                        return searchWithoutCategory(query, maxResults, quotaSpent);
+                    }
+                    log.info("YouTube API returned {} videos for query '{}'", results.size(), query);
+                    return Mono.just(results);
+                })
+                .onErrorResume(QuotaExceededException.class, e -> {
+                    log.warn("YouTube API quota exceeded for query '{}'. YouTube API daily quota limit has been reached.", query);
+                    return Mono.just(Collections.emptyList());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error calling YouTube API for query '{}': {}", query, e.getMessage());
+                    log.info("Attempting fallback without category restriction for query: {}", query);
+                    return searchWithoutCategory(query, maxResults, quotaSpent);
+                });
     }
 
-    private List<VideoTileDTO> searchWithoutCategory(String query, int maxResults) {
-        try {
-            log.info("Calling YouTube API WITHOUT category filter for query: '{}'", query);
-
-            YouTubeSearchResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/search")
-                            .queryParam("part", "snippet")
-                            .queryParam("q", query)
-                            .queryParam("type", "video")
-                            .queryParam("maxResults", Math.min(maxResults, 50))
-                            .queryParam("safeSearch", "strict")
-                            .queryParam("videoEmbeddable", "true")
-                            .queryParam("relevanceLanguage", "en")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> clientResponse.bodyToMono(String.class)
-                                    .map(errorBody -> {
-                                        log.error("YouTube API fallback error response: {}", errorBody);
-                                        if (errorBody.contains("quotaExceeded")) {
-                                            log.warn("YouTube API quota exceeded on fallback. Returning empty results.");
-                                            return new QuotaExceededException("YouTube API quota exceeded");
-                                        }
-                                        return new RuntimeException("YouTube API error: " + errorBody);
-                                    }))
-                    .bodyToMono(YouTubeSearchResponse.class)
-                    .block();
-
-            if (response == null || response.getItems() == null) {
-                log.warn("No results from YouTube API fallback for query: {}", query);
-                return Collections.emptyList();
+    private Mono<List<VideoTileDTO>> searchWithoutCategory(String query, int maxResults, IntConsumer quotaSpent) {
+        log.info("Calling YouTube API WITHOUT category filter for query: '{}'", query);
+
+        return search(query, maxResults, false, quotaSpent)
+                .doOnNext(results -> log.info("YouTube API fallback returned {} videos for query '{}'", results.size(), query))
+                .onErrorResume(QuotaExceededException.class, e -> {
+                    log.warn("YouTube API quota exceeded for fallback query '{}'. YouTube API daily quota limit has been reached.", query);
+                    return Mono.just(Collections.emptyList());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error calling YouTube API fallback for query '{}': {}", query, e.getMessage());
+                    return Mono.just(Collections.emptyList());
+                });
+    }
+
+    // Deferred so the quota is only taken when the call is subscribed to, not when it is assembled:
+    // callers that join an in-flight call or never subscribe spend nothing
+    private Mono<List<VideoTileDTO>> search(String query, int maxResults, boolean educationOnly, IntConsumer quotaSpent) {
+        return Mono.defer(() -> {
+            if (!quotaGuard.tryAcquire(SEARCH_QUOTA_COST)) {
+                return Mono.error(new QuotaExceededException("YouTube API quota budget exhausted"));
             }
+            quotaSpent.accept(SEARCH_QUOTA_COST);
 
-            List<VideoTileDTO> results = response.getItems().stream()
-                    .filter(item -> item.getId() != null && item.getId().getVideoId() != null)
-                    .map(this::convertToVideoTile)
-                    .collect(Collectors.toList());
+            return webClient.get()
+                    .uri(uriBuilder -> {
+                        uriBuilder
+                                .path("/search")
+                                .queryParam("part", "snippet")
+                                .queryParam("q", query)
+                                .queryParam("type", "video");
+                        if (educationOnly) {
+                            uriBuilder.queryParam("videoCategoryId", EDUCATION_CATEGORY_ID);
+                        } else {
+                            uriBuilder.queryParam("relevanceLanguage", "en");
+                        }
+                        return uriBuilder
+                                .queryParam("maxResults", Math.min(maxResults, 50))
+                                .queryParam("safeSearch", "strict")
+                                .queryParam("videoEmbeddable", "true")
+                                .queryParam("fields", YouTubeSearchParser.SEARCH_FIELDS)
+                                .queryParam("key", apiKey)
+                                .build();
+                    })
+                    .retrieve()
+                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), this::toError)
+                    .bodyToFlux(DataBuffer.class)
+                    .as(body -> DataBufferUtils.join(body, maxResponseBytes))
+                    .map(this::parseTiles)
+                    .timeout(timeout)
+                    .defaultIfEmpty(Collections.emptyList());
+        });
+    }
 
-            log.info("YouTube API fallback returned {} videos for query '{}'", results.size(), query);
-            return results;
+    /**
+     * The metadata of a video as YouTube has it; empty if YouTube does not know the video.
+     *
+     * @throws QuotaExceededException if the quota is used up
+     * @throws RuntimeException if the API call fails or times out
+     */
+    public Optional<VideoTileDTO> fetchVideo(String videoId) {
+        if (!quotaGuard.tryAcquire(VIDEO_QUOTA_COST)) {
+            throw new QuotaExceededException("YouTube API quota budget exhausted");
+        }
 
-        } catch (QuotaExceededException e) {
-            log.warn("YouTube API quota exceeded for fallback query '{}'. YouTube API daily quota limit has been reached.", query);
-            return Collections.emptyList();
-        } catch (Exception e) {
-            log.error("Error calling YouTube API fallback for query '{}': {}", query, e.getMessage());
-            return Collections.emptyList();
+        List<VideoTileDTO> tiles = webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/videos")
+                        .queryParam("part", "snippet")
+                        .queryParam("id", videoId)
+                        .queryParam("fields", YouTubeSearchParser.VIDEO_FIELDS)
+                        .queryParam("key", apiKey)
+                        .build())
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), this::toError)
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, maxResponseBytes))
+                .map(this::parseTiles)
+                .timeout(timeout)
+                .defaultIfEmpty(Collections.emptyList())
+                .block();
+        return tiles.stream().filter(tile -> videoId.equals(tile.getVideoId())).findFirst();
+    }
+
+    private Mono<? extends Throwable> toError(ClientResponse clientResponse) {
+        return clientResponse.bodyToMono(String.class)
+                .map(errorBody -> {
+                    log.error("YouTube API error response: {}", errorBody);
+                    // Check if it's a quota exceeded error
+                    if (errorBody.contains("quotaExceeded")) {
+                        quotaGuard.quotaExceeded();
+                        return new QuotaExceededException("YouTube API quota exceeded");
+                    }
+                    return new RuntimeException("YouTube API error: " + errorBody);
+                });
+    }
+
+    private List<VideoTileDTO> parseTiles(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return YouTubeSearchParser.parseTiles(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed YouTube API response", e);
         }
     }
 
@@ -142,80 +245,18 @@ public class YouTubeApiClient {
      */
     public List<VideoTileDTO> searchEducationalVideosMultiCategory(String query, int maxResults) {
         try {
-            YouTubeSearchResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/search")
-                            .queryParam("part", "snippet")
-                            .queryParam("q", query)
-                            .queryParam("type", "video")
-                            .queryParam("maxResults", Math.min(maxResults, 50))
-                            .queryParam("safeSearch", "strict")
-                            .queryParam("videoEmbeddable", "true")
-                            .queryParam("relevanceLanguage", "en")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(YouTubeSearchResponse.class)
-                    .block();
-
-            if (response == null || response.getItems() == null) {
-                return Collections.emptyList();
-            }
-
-            return response.getItems().stream()
-                    .filter(item -> item.getId() != null && item.getId().getVideoId() != null)
+            return search(query, maxResults, false, units -> { })
+                    .block()
+                    .stream()
                     .filter(this::isEducationalContent)
-                    .map(this::convertToVideoTile)
                     .collect(Collectors.toList());
-
         } catch (Exception e) {
             log.error("Error calling YouTube API: {}", e.getMessage());
             return Collections.emptyList();
         }
     }
 
-    private boolean isEducationalContent(YouTubeSearchItem item) {
-        String title = item.getSnippet().getTitle().toLowerCase();
-        String description = item.getSnippet().getDescription().toLowerCase();
-        String channelTitle = item.getSnippet().getChannelTitle().toLowerCase();
-
-        List<String> educationalKeywords = List.of(
-                "lecture", "tutorial", "course", "learn", "education",
-                "explained", "guide", "documentary", "science", "philosophy",
-                "ted", "university", "professor", "academy"
-        );
-
-        List<String> spamKeywords = List.of(
-                "clickbait", "drama", "exposed", "reaction", "prank",
-                "vs", "diss", "roast", "cringe"
-        );
-
-        String combined = title + " " + description + " " + channelTitle;
-
-        boolean hasEducationalKeyword = educationalKeywords.stream()
-                .anyMatch(combined::contains);
-
-        boolean hasSpamKeyword = spamKeywords.stream()
-                .anyMatch(combined::contains);
-
-        return hasEducationalKeyword && !hasSpamKeyword;
-    }
-
-    private VideoTileDTO convertToVideoTile(YouTubeSearchItem item) {
-        VideoTileDTO dto = new VideoTileDTO();
-        dto.setVideoId(item.getId().getVideoId());
-        dto.setTitle(item.getSnippet().getTitle());
-        dto.setChannelTitle(item.getSnippet().getChannelTitle());
-        dto.setDescription(item.getSnippet().getDescription());
-
-        if (item.getSnippet().getThumbnails() != null) {
-            if (item.getSnippet().getThumbnails().getHigh() != null) {
-                dto.setThumbnailUrl(item.getSnippet().getThumbnails().getHigh().getUrl());
-            } else if (item.getSnippet().getThumbnails().getMedium() != null) {
-                dto.setThumbnailUrl(item.getSnippet().getThumbnails().getMedium().getUrl());
-            }
-        }
-
-        return dto;
+    private boolean isEducationalContent(VideoTileDTO tile) {
+        return classifier.isEducational(tile.getTitle(), tile.getDescription(), tile.getChannelTitle());
     }
 }
@@ -0,0 +1,97 @@
+package com.focusfortress.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Guards the YouTube Data API quota before a call goes to the network. A token bucket refilled at the daily
+ * quota spread over 24 hours paces spending, and a circuit breaker opens on the first quotaExceeded response
+ * and stays open until the quota resets at midnight Pacific Time.
+ */
+@Slf4j
+@Component
+public class YouTubeQuotaGuard {
+
+    static final ZoneId QUOTA_RESET_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final double capacity;
+    private final double unitsPerNano;
+    private final Counter used;
+    private final Counter throttled;
+    private final Counter rejectedOpen;
+
+    private double available;
+    private long refilledAtNanos;
+    private volatile Instant openUntil = Instant.MIN;
+
+    public YouTubeQuotaGuard(
+            MeterRegistry meterRegistry,
+            @Value("${youtube.quota.daily-units:10000}") long dailyUnits,
+            @Value("${youtube.quota.burst-units:2000}") long burstUnits) {
+        this.capacity = burstUnits;
+        this.unitsPerNano = dailyUnits / (double) Duration.ofDays(1).toNanos();
+        this.available = burstUnits;
+        this.refilledAtNanos = System.nanoTime();
+        this.used = Counter.builder("youtube.quota.used").baseUnit("units").register(meterRegistry);
+        this.throttled = Counter.builder("youtube.quota.rejections").tag("reason", "throttled").register(meterRegistry);
+        this.rejectedOpen = Counter.builder("youtube.quota.rejections").tag("reason", "open").register(meterRegistry);
+        Gauge.builder("youtube.quota.available", this, YouTubeQuotaGuard::availableUnits).baseUnit("units").register(meterRegistry);
+        Gauge.builder("youtube.circuit.open", this, guard -> guard.isOpen() ? 1 : 0).register(meterRegistry);
+    }
+
+    /**
+     * Takes {@code units} from the bucket; {@code false} if the breaker is open or the bucket runs short,
+     * in which case the call must not be made.
+     */
+    public boolean tryAcquire(int units) {
+        if (isOpen()) {
+            rejectedOpen.increment();
+            return false;
+        }
+        synchronized (this) {
+            refill();
+            if (available < units) {
+                throttled.increment();
+                return false;
+            }
+            available -= units;
+        }
+        used.increment(units);
+        return true;
+    }
+
+    /**
+     * Opens the breaker after YouTube reported the quota as exceeded.
+     */
+    public void quotaExceeded() {
+        Instant reset = LocalDate.now(QUOTA_RESET_ZONE).plusDays(1).atStartOfDay(QUOTA_RESET_ZONE).toInstant();
+        if (!reset.equals(openUntil)) {
+            openUntil = reset;
+            log.warn("YouTube API quota exceeded, skipping calls until {}", reset);
+        }
+    }
+
+    public boolean isOpen() {
+        return Instant.now().isBefore(openUntil);
+    }
+
+    private synchronized double availableUnits() {
+        refill();
+        return available;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - refilledAtNanos) * unitsPerNano);
+        refilledAtNanos = now;
+    }
+}
@@ -0,0 +1,159 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of YouTube search results, shared by all users since tile queries come from a small fixed set.
+ * Entries are fresh for the TTL; after that they are still served for the stale window while one background
+ * refresh reloads them. The least recently used entries are evicted once the cache is full.
+ * Concurrent lookups of the same uncached search share one in-flight call (single flight).
+ * Callers always get their own copies of the tiles, so tagging them never leaks into the cache.
+ */
+@Slf4j
+@Component
+public class YouTubeSearchCache {
+
+    private static final String EDUCATION_CATEGORY_ID = "27";
+
+    private record SearchKey(String query, int maxResults, String videoCategoryId) {
+    }
+
+    private record Entry(List<VideoTileDTO> tiles, long loadedAtMillis) {
+    }
+
+    private final YouTubeApiClient youTubeApiClient;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final Map<SearchKey, Entry> entries;
+    private final Map<SearchKey, Mono<List<VideoTileDTO>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter quotaSaved;
+    private final Counter coalesced;
+
+    public YouTubeSearchCache(
+            YouTubeApiClient youTubeApiClient,
+            MeterRegistry meterRegistry,
+            @Value("${youtube.search-cache.ttl-minutes:360}") long ttlMinutes,
+            @Value("${youtube.search-cache.stale-minutes:1440}") long staleMinutes,
+            @Value("${youtube.search-cache.max-entries:2000}") int maxEntries) {
+        this.youTubeApiClient = youTubeApiClient;
+        this.ttlMillis = ttlMinutes * 60_000;
+        this.staleMillis = staleMinutes * 60_000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("youtube.search.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("youtube.search.cache.lookups").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("youtube.search.cache.lookups").tag("result", "miss").register(meterRegistry);
+        this.quotaSaved = Counter.builder("youtube.search.cache.quota.saved").baseUnit("units").register(meterRegistry);
+        this.coalesced = Counter.builder("youtube.search.cache.coalesced").register(meterRegistry);
+        Gauge.builder("youtube.search.cache.size", this, YouTubeSearchCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Cached {@link YouTubeApiClient#searchEducationalVideosAsync(String, int)}; cached results complete immediately.
+     */
+    public Mono<List<VideoTileDTO>> searchEducationalVideos(String query, int maxResults) {
+        SearchKey key = new SearchKey(query.trim().toLowerCase(Locale.ROOT), Math.min(maxResults, 50), EDUCATION_CATEGORY_ID);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.loadedAtMillis();
+            if (age < ttlMillis) {
+                hits.increment();
+                quotaSaved.increment(YouTubeApiClient.SEARCH_QUOTA_COST);
+                return Mono.just(copy(entry.tiles()));
+            }
+            if (age < ttlMillis + staleMillis) {
+                staleHits.increment();
+                quotaSaved.increment(YouTubeApiClient.SEARCH_QUOTA_COST);
+                refreshInBackground(key, query);
+                return Mono.just(copy(entry.tiles()));
+            }
+        }
+
+        misses.increment();
+        return load(key, query)
+                .map(tiles -> {
+                    if (tiles.isEmpty() && entry != null) {
+                        // Quota exhausted or API down: an expired result is still better than no tiles
+                        return copy(entry.tiles());
+                    }
+                    return copy(tiles);
+                });
+    }
+
+    private void refreshInBackground(SearchKey key, String query) {
+        load(key, query).subscribe(tiles -> {
+        }, e -> log.warn("Background refresh of YouTube search '{}' failed: {}", query, e.getMessage()));
+    }
+
+    /**
+     * The in-flight call for the key, started if there is none. The result is stored once, and the call runs to
+     * completion even if every caller cancels (e.g. past the tile deadline), so its result is still cached.
+     */
+    private Mono<List<VideoTileDTO>> load(SearchKey key, String query) {
+        Mono<List<VideoTileDTO>> pending = inFlight.get(key);
+        if (pending != null) {
+            coalesced.increment();
+            return pending;
+        }
+
+        Mono<List<VideoTileDTO>> call = youTubeApiClient.searchEducationalVideosAsync(query, key.maxResults())
+                .map(tiles -> store(key, tiles))
+                .doFinally(signal -> inFlight.remove(key))
+                .cache();
+        pending = inFlight.putIfAbsent(key, call);
+        if (pending != null) {
+            coalesced.increment();
+            return pending;
+        }
+        return call;
+    }
+
+    // Empty results usually mean the quota ran out or the call failed, so they are not cached
+    private List<VideoTileDTO> store(SearchKey key, List<VideoTileDTO> tiles) {
+        if (tiles.isEmpty()) {
+            return tiles;
+        }
+        List<VideoTileDTO> cached = copy(tiles);
+        synchronized (entries) {
+            entries.put(key, new Entry(cached, System.currentTimeMillis()));
+        }
+        return cached;
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static List<VideoTileDTO> copy(List<VideoTileDTO> tiles) {
+        return tiles.stream()
+                .map(tile -> new VideoTileDTO(tile.getVideoId(), tile.getTitle(), tile.getChannelTitle(),
+                        tile.getThumbnailUrl(), tile.getDescription(), tile.getMatchedInterest()))
+                .toList();
+    }
+}
@@ -1,10 +0,0 @@
-package com.focusfortress.youtube;
-
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.Data;
-
-@Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class YouTubeId {
-    private String videoId;
-}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.focusfortress.youtube;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.focusfortress.dto.VideoTileDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a search.list or videos.list response straight into tiles with a streaming parser, skipping everything else.
+ */
+public final class YouTubeSearchParser {
+
+    /**
+     * The response fields the parser reads; passed as the API's {@code fields} parameter so nothing else is sent.
+     */
+    public static final String SEARCH_FIELDS =
+            "items(id/videoId,snippet(title,description,channelTitle,thumbnails(high/url,medium/url)))";
+
+    /**
+     * The same fields for videos.list, whose items carry the video id as a plain string.
+     */
+    public static final String VIDEO_FIELDS =
+            "items(id,snippet(title,description,channelTitle,thumbnails(high/url,medium/url)))";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private YouTubeSearchParser() {
+    }
+
+    /**
+     * The tiles of the response; items without a video id (channels, playlists) are skipped.
+     */
+    public static List<VideoTileDTO> parseTiles(InputStream body) throws IOException {
+        List<VideoTileDTO> tiles = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return tiles;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        VideoTileDTO tile = parseItem(parser);
+                        if (tile.getVideoId() != null) {
+                            tiles.add(tile);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private static VideoTileDTO parseItem(JsonParser parser) throws IOException {
+        VideoTileDTO tile = new VideoTileDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String idField = parser.currentName();
+                    parser.nextToken();
+                    if ("videoId".equals(idField)) {
+                        tile.setVideoId(parser.getValueAsString());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("id".equals(field) && value == JsonToken.VALUE_STRING) {
+                tile.setVideoId(parser.getValueAsString());
+            } else if ("snippet".equals(field) && value == JsonToken.START_OBJECT) {
+                parseSnippet(parser, tile);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tile;
+    }
+
+    private static void parseSnippet(JsonParser parser, VideoTileDTO tile) throws IOException {
+        String highUrl = null;
+        String mediumUrl = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title" -> tile.setTitle(parser.getValueAsString());
+                case "description" -> tile.setDescription(parser.getValueAsString());
+                case "channelTitle" -> tile.setChannelTitle(parser.getValueAsString());
+                case "thumbnails" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String size = parser.currentName();
+                        parser.nextToken();
+                        if ("high".equals(size)) {
+                            highUrl = parseUrl(parser);
+                        } else if ("medium".equals(size)) {
+                            mediumUrl = parseUrl(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        tile.setThumbnailUrl(highUrl != null ? highUrl : mediumUrl);
+    }
+
+    private static String parseUrl(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String url = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("url".equals(field)) {
+                url = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return url;
+    }
+}
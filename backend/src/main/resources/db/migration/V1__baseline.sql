@@ -0,0 +1,165 @@
+-- Schema as created by earlier versions through Hibernate's schema update. Databases that already have it
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and only run the later migrations.
+
+create table categories (
+    icon varchar(5),
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table counters (
+    id bigint not null auto_increment,
+    start_date_time datetime(6),
+    user_id bigint not null,
+    icon varchar(128),
+    name varchar(128) not null,
+    description varchar(512),
+    primary key (id)
+) engine=InnoDB;
+
+create table habit_progress (
+    date date,
+    habit_id bigint,
+    id bigint not null auto_increment,
+    primary key (id)
+) engine=InnoDB;
+
+create table habits (
+    done bit not null,
+    duration_days integer not null,
+    icon varchar(5),
+    category_id bigint,
+    id bigint not null auto_increment,
+    subcategory_id bigint,
+    user_id bigint not null,
+    description varchar(500),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table report_settings (
+    automatic_reports bit,
+    include_active_habits bit,
+    include_completed_habits bit,
+    include_counters bit,
+    include_interests bit,
+    include_media_library bit,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    report_frequency varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table subcategories (
+    icon varchar(5),
+    category_id bigint not null,
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_interests (
+    id bigint not null auto_increment,
+    selected_at datetime(6),
+    subcategory_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_media_library (
+    added_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    thumbnail_url varchar(500),
+    description varchar(1000),
+    notes varchar(2000),
+    channel_title varchar(255),
+    matched_interest varchar(255),
+    title varchar(255) not null,
+    user_email varchar(255) not null,
+    video_id varchar(255) not null,
+    status enum ('CURRENTLY_WATCHING','FINISHED','WATCH_LATER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    date_of_birth date,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    last_login_at datetime(6),
+    name varchar(50) not null,
+    bio varchar(500),
+    avatar_url varchar(255),
+    email varchar(255) not null,
+    gender varchar(255),
+    password varchar(255),
+    timezone varchar(255),
+    verification_token varchar(255),
+    provider enum ('GOOGLE','LOCAL'),
+    role enum ('ADMIN','UNVERIFIED','USER'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table categories
+   add constraint UKt8o6pivur7nn124jehx7cygw5 unique (name);
+
+alter table counters
+   add constraint uk_counters_user_name unique (user_id, name);
+
+alter table report_settings
+   add constraint UKfx60fvncw542w9i5qy1ldacw4 unique (user_id);
+
+alter table subcategories
+   add constraint UKdw0d50s4wke25n3l24qwq3xw2 unique (name, category_id);
+
+alter table user_interests
+   add constraint UK2i3csdlij5frtpv3f7tf5l698 unique (user_id, subcategory_id);
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table counters
+   add constraint FK5flcne9xrqwg51vt6o2mdwe5w
+   foreign key (user_id)
+   references users (id);
+
+alter table habit_progress
+   add constraint FKp0e4stno6l67jovfe6fv0ojtn
+   foreign key (habit_id)
+   references habits (id);
+
+alter table habits
+   add constraint FKf6uni342qd7oaavv2tg75e1tc
+   foreign key (category_id)
+   references categories (id);
+
+alter table habits
+   add constraint FK9k43i2ytjpbvkg1pra7eb0vke
+   foreign key (subcategory_id)
+   references subcategories (id);
+
+alter table habits
+   add constraint FKg3n2qqwmsyv3517xdcosouk9i
+   foreign key (user_id)
+   references users (id);
+
+alter table report_settings
+   add constraint FKa05y73k8ibai2wk728hvn8q81
+   foreign key (user_id)
+   references users (id);
+
+alter table subcategories
+   add constraint FKiborb6ptvy1t1n3v6klb56l5s
+   foreign key (category_id)
+   references categories (id);
+
+alter table user_interests
+   add constraint FKdrg3pxee9f875a61pci496iyk
+   foreign key (subcategory_id)
+   references subcategories (id);
+
+alter table user_interests
+   add constraint FKdv9fflrh61wyuujfwx2yn1tb4
+   foreign key (user_id)
+   references users (id);
@@ -0,0 +1,10 @@
+-- Streak state kept on the habit; HabitStreakRebuildJob computes it for existing habits from habit_progress
+
+alter table habits
+   add column current_streak integer not null default 0;
+
+alter table habits
+   add column longest_streak integer not null default 0;
+
+alter table habits
+   add column last_done_date date;
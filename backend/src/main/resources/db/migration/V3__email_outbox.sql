@@ -0,0 +1,25 @@
+-- Emails are queued in the same transaction as the change that triggers them and sent by EmailOutboxDispatcher
+
+create table email_outbox (
+    attempts integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    claim_token varchar(36),
+    last_error varchar(1000),
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body mediumtext not null,
+    status enum ('FAILED','PENDING','SENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt
+   on email_outbox (status, next_attempt_at);
+
+create index idx_email_outbox_claim_token
+   on email_outbox (claim_token);
+
+create index idx_email_outbox_status_sent
+   on email_outbox (status, sent_at);
@@ -0,0 +1,22 @@
+-- Progress of the automatic weekly and monthly report runs, so an interrupted run resumes where it stopped
+
+create table report_runs (
+    period_start date not null,
+    failed bigint not null,
+    finished_at datetime(6),
+    id bigint not null auto_increment,
+    last_settings_id bigint not null,
+    processed bigint not null,
+    started_at datetime(6) not null,
+    frequency varchar(16) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table report_runs
+   add constraint uk_report_runs_frequency_period unique (frequency, period_start);
+
+alter table report_settings
+   add column last_report_at datetime(6);
+
+create index idx_report_settings_automatic
+   on report_settings (automatic_reports, report_frequency, id);
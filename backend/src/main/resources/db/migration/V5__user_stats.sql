@@ -0,0 +1,13 @@
+-- Per-user summary counts; UserStatsReconciliationJob creates the rows of existing users
+
+create table user_stats (
+    active_habits integer not null,
+    completed_habits integer not null,
+    counters integer not null,
+    interests integer not null,
+    media_currently_watching integer not null,
+    media_finished integer not null,
+    media_watch_later integer not null,
+    user_id bigint not null,
+    primary key (user_id)
+) engine=InnoDB;
@@ -0,0 +1,36 @@
+-- Video metadata moves from every user_media_library row into the shared videos catalog
+
+create table videos (
+    updated_at datetime(6) not null,
+    video_id varchar(64) not null,
+    thumbnail_url varchar(500),
+    description varchar(1000),
+    channel_title varchar(255),
+    title varchar(255) not null,
+    primary key (video_id)
+) engine=InnoDB;
+
+insert into videos (video_id, title, channel_title, thumbnail_url, description, updated_at)
+select video_id, max(title), max(channel_title), max(thumbnail_url), max(description), current_timestamp(6)
+from user_media_library
+group by video_id;
+
+alter table user_media_library
+   drop column title;
+
+alter table user_media_library
+   drop column channel_title;
+
+alter table user_media_library
+   drop column thumbnail_url;
+
+alter table user_media_library
+   drop column description;
+
+alter table user_media_library
+   modify column video_id varchar(64) not null;
+
+alter table user_media_library
+   add constraint fk_user_media_library_video
+   foreign key (video_id)
+   references videos (video_id);
@@ -0,0 +1,31 @@
+-- Indexes for the per-user lookups, listings and joins that otherwise scan the whole table
+
+create index idx_habits_user_name
+   on habits (user_id, name);
+
+create index idx_habits_user_category_subcategory
+   on habits (user_id, category_id, subcategory_id);
+
+create index idx_habits_user_subcategory
+   on habits (user_id, subcategory_id);
+
+create index idx_habits_user_done
+   on habits (user_id, done);
+
+create index idx_counters_user_start
+   on counters (user_id, start_date_time);
+
+create index idx_user_interests_user_selected
+   on user_interests (user_id, selected_at);
+
+create index idx_users_verification_token
+   on users (verification_token);
+
+create index idx_user_media_library_user_added
+   on user_media_library (user_email, added_at, id);
+
+create index idx_user_media_library_user_status_added
+   on user_media_library (user_email, status, added_at, id);
+
+create index idx_user_media_library_user_video
+   on user_media_library (user_email, video_id);
@@ -0,0 +1,15 @@
+-- Concurrent "mark done" requests could record the same day twice. The duplicates are removed, keeping the
+-- oldest row of each day, so the unique key can be added.
+
+-- The derived table lets MySQL read the table it deletes from
+delete from habit_progress
+where id not in (
+    select keep_id from (
+        select min(id) as keep_id
+        from habit_progress
+        group by habit_id, date
+    ) kept
+);
+
+alter table habit_progress
+   add constraint uk_habit_progress_habit_date unique (habit_id, date);
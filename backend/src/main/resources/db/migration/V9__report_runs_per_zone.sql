@@ -0,0 +1,11 @@
+-- Automatic report periods start at midnight in the users' own timezone, so each zone has runs of its own.
+-- Existing runs were computed in the server's zone and are kept under that of accounts created by default.
+
+alter table report_runs
+   add column timezone varchar(64) not null default 'Europe/Warsaw';
+
+alter table report_runs
+   drop constraint uk_report_runs_frequency_period;
+
+alter table report_runs
+   add constraint uk_report_runs_frequency_period_timezone unique (frequency, period_start, timezone);
@@ -0,0 +1,72 @@
+package com.focusfortress.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Upgrades a database holding data in the baseline schema, as existing installations do.
+ */
+class MigrationTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createDatabase() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate("1");
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'Ada', 'ada@example.com')");
+        jdbcTemplate.update("INSERT INTO habits (id, user_id, name, done, duration_days) VALUES (1, 1, 'Read', false, 30)");
+    }
+
+    @Test
+    void duplicateHabitDaysAreRemovedBeforeTheUniqueKeyIsAdded() {
+        jdbcTemplate.update("INSERT INTO habit_progress (id, habit_id, date) VALUES " +
+                "(1, 1, '2025-01-01'), (2, 1, '2025-01-01'), (3, 1, '2025-01-02')");
+
+        migrate("latest");
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM habit_progress ORDER BY id", Long.class))
+                .containsExactly(1L, 3L);
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO habit_progress (habit_id, date) VALUES (1, '2025-01-02')"))
+                .hasMessageContaining("uk_habit_progress_habit_date");
+    }
+
+    @Test
+    void libraryMetadataMovesToTheVideosCatalog() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'Grace', 'grace@example.com')");
+        jdbcTemplate.update("INSERT INTO user_media_library (user_email, video_id, title, channel_title, status, added_at) " +
+                "VALUES ('ada@example.com', 'pTyGJMuHbEL', 'Compilers', 'CS', 'WATCH_LATER', '2025-01-01 10:00:00'), " +
+                "('grace@example.com', 'pTyGJMuHbEL', 'Compilers', 'CS', 'FINISHED', '2025-01-02 10:00:00')");
+
+        migrate("latest");
+
+        List<Map<String, Object>> videos = jdbcTemplate.queryForList("SELECT video_id, title, channel_title FROM videos");
+        assertThat(videos).containsExactly(Map.of("video_id", "pTyGJMuHbEL", "title", "Compilers", "channel_title", "CS"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_name = 'user_media_library' AND column_name = 'title'",
+                Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_media_library", Integer.class)).isEqualTo(2);
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,116 @@
+package com.focusfortress.repository;
+
+import com.focusfortress.model.EmailOutboxStatus;
+import com.focusfortress.model.MediaStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the hot queries, against the schema built by the Flyway
+ * migrations, to check that each one is served by the index added for it rather than a table scan.
+ * H2 does not pick an index for its sort order, so queries that rely on that (counters by start time) are not
+ * covered here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.focusfortress.repository.QueryPlanTest$RecordingInspector")
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserMediaItemRepository mediaItemRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitProgressRepository habitProgressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxMessageRepository outboxRepository;
+
+    @BeforeEach
+    void clearRecordedSql() {
+        RecordingInspector.SQL.clear();
+    }
+
+    @Test
+    void libraryTabIsReadFromTheUserStatusIndex() {
+        mediaItemRepository.findLibraryPageByStatus("ada@example.com", MediaStatus.WATCH_LATER, null, null, null,
+                PageRequest.ofSize(24));
+
+        assertThat(plan()).contains("idx_user_media_library_user_status_added: user_email = ?1\n        AND status = ?2");
+    }
+
+    @Test
+    void habitLookupsUseTheUserIndexes() {
+        habitRepository.existsByUserIdAndName(1L, "Read");
+        assertThat(plan()).contains("idx_habits_user_name");
+
+        RecordingInspector.SQL.clear();
+        habitRepository.findByUserIdAndCategoryIdAndSubcategoryId(1L, 2L, 3L);
+        assertThat(plan()).contains("idx_habits_user_category_subcategory");
+
+        RecordingInspector.SQL.clear();
+        habitRepository.findByUserIdAndSubcategoryId(1L, 3L);
+        assertThat(plan()).contains("idx_habits_user_subcategory");
+    }
+
+    @Test
+    void habitDaysAreReadFromTheUniqueKey() {
+        habitProgressRepository.findDatesByHabitIdBetween(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertThat(plan()).contains("uk_habit_progress_habit_date");
+    }
+
+    @Test
+    void verificationTokenLookupUsesItsIndex() {
+        userRepository.findByVerificationToken("token");
+
+        assertThat(plan()).contains("idx_users_verification_token");
+    }
+
+    @Test
+    void dueEmailsAreReadFromTheStatusIndex() {
+        outboxRepository.findDueIds(EmailOutboxStatus.PENDING, LocalDateTime.of(2025, 3, 1, 12, 0), PageRequest.ofSize(50));
+
+        assertThat(plan()).contains("idx_email_outbox_status_next_attempt");
+    }
+
+    /**
+     * The plan of the single statement recorded since the last clear; H2 plans it without the parameter values.
+     */
+    private String plan() {
+        assertThat(RecordingInspector.SQL).hasSize(1);
+        return jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + RecordingInspector.SQL.get(0)),
+                (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : "");
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
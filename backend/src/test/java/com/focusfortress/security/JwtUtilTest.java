@@ -0,0 +1,32 @@
+package com.focusfortress.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+
+    @Test
+    void parseAndValidateReturnsTheClaimsOfAGeneratedToken() {
+        String token = jwtUtil.generateToken(7L, "user@example.com", true);
+
+        JwtClaims claims = jwtUtil.parseAndValidate(token);
+
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.subject()).isEqualTo("user@example.com");
+        assertThat(claims.expiration()).isInTheFuture();
+    }
+
+    @Test
+    void parseAndValidateRejectsATokenSignedWithAnotherKey() {
+        String token = new JwtUtil("other-secret-other-secret-other-secret-other").generateToken(7L, "user@example.com");
+
+        assertThatThrownBy(() -> jwtUtil.parseAndValidate(token)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.focusfortress.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of verifying a token per request: {@code legacy} reproduces the filter before the key and parser
+ * were cached (a new key and parser per parse, and the token parsed by extractEmail, validateToken and
+ * extractExpiration), {@code parseAndValidate} is the current single parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        token = jwtUtil.generateToken(42L, "user@example.com");
+    }
+
+    @Benchmark
+    public Object legacy() {
+        String email = legacyClaims(token).getSubject();
+        // validateToken: extractEmail, then isTokenExpired
+        boolean valid = email.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        Date expiration = legacyClaims(token).getExpiration();
+        return valid ? expiration : null;
+    }
+
+    @Benchmark
+    public JwtClaims parseAndValidate() {
+        return jwtUtil.parseAndValidate(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
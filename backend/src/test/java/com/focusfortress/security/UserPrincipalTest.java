@@ -0,0 +1,43 @@
+package com.focusfortress.security;
+
+import com.focusfortress.model.Role;
+import com.focusfortress.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalTest {
+
+    @Test
+    void principalIsNotAffectedByLaterChangesToTheAccount() {
+        User user = new User();
+        user.setId(7L);
+        user.setName("Ada");
+        user.setEmail("ada@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+
+        UserPrincipal principal = new UserPrincipal(user);
+        user.setEmail("grace@example.com");
+        user.setRole(Role.ADMIN);
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("ada@example.com");
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void cachedCopyHasNoPassword() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("ada@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+
+        UserPrincipal cached = new UserPrincipal(user).withoutPassword();
+
+        assertThat(cached.getPassword()).isNull();
+        assertThat(cached.getId()).isEqualTo(7L);
+        assertThat(cached.isEnabled()).isTrue();
+    }
+}
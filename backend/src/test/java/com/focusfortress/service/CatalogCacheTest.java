@@ -0,0 +1,81 @@
+package com.focusfortress.service;
+
+import com.focusfortress.repository.CategoryRepository;
+import com.focusfortress.repository.SubcategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not run in a test transaction: the write has to commit while the reader's transaction is open
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubcategoryRepository subcategoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void createCache() {
+        catalogCache = new CatalogCache(categoryRepository, subcategoryRepository, new SimpleMeterRegistry(), transactionManager);
+        jdbcTemplate.update("INSERT INTO categories (name, icon) VALUES ('Health', 'H')");
+    }
+
+    @AfterEach
+    void deleteCategories() {
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void readerWhoseViewPredatesAWriteDoesNotCacheTheOldCatalog() {
+        TransactionTemplate reader = new TransactionTemplate(transactionManager);
+        reader.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        TransactionTemplate writer = new TransactionTemplate(transactionManager);
+        writer.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        reader.executeWithoutResult(status -> {
+            // Fixes the reader's view of the table
+            assertThat(categoryRepository.count()).isEqualTo(1);
+
+            writer.executeWithoutResult(written -> {
+                jdbcTemplate.update("INSERT INTO categories (name, icon) VALUES ('Mind', 'M')");
+                catalogCache.invalidate();
+            });
+
+            assertThat(categoryRepository.count()).isEqualTo(1);
+            assertThat(catalogCache.snapshot().findCategoryByName("Mind")).isPresent();
+        });
+
+        assertThat(catalogCache.snapshot().getCategories()).hasSize(2);
+    }
+
+    @Test
+    void snapshotIsSharedUntilInvalidated() {
+        CatalogSnapshot first = catalogCache.snapshot();
+
+        assertThat(catalogCache.snapshot()).isSameAs(first);
+        catalogCache.invalidate();
+        assertThat(catalogCache.snapshot()).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,68 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import com.focusfortress.youtube.YouTubeSearchParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying the videos of a recorded search.list response: {@code substrings} is the check the classifier
+ * replaced (a {@code contains} scan per keyword over the lower-cased text), {@code automaton} the classifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EducationalContentClassifierBenchmark {
+
+    private static final List<String> EDUCATIONAL_KEYWORDS = List.of(
+            "lecture", "tutorial", "course", "learn", "education",
+            "explained", "guide", "documentary", "science", "philosophy",
+            "ted", "university", "professor", "academy"
+    );
+
+    private static final List<String> SPAM_KEYWORDS = List.of(
+            "clickbait", "drama", "exposed", "reaction", "prank",
+            "vs", "diss", "roast", "cringe"
+    );
+
+    private final EducationalContentClassifier classifier = new EducationalContentClassifier(List.of(), 1);
+    private List<VideoTileDTO> tiles;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/youtube/search-list-full.json")) {
+            tiles = YouTubeSearchParser.parseTiles(in);
+        }
+    }
+
+    @Benchmark
+    public int substrings() {
+        int educational = 0;
+        for (VideoTileDTO tile : tiles) {
+            String combined = Objects.toString(tile.getTitle(), "").toLowerCase() + " "
+                    + Objects.toString(tile.getDescription(), "").toLowerCase() + " "
+                    + Objects.toString(tile.getChannelTitle(), "").toLowerCase();
+            if (EDUCATIONAL_KEYWORDS.stream().anyMatch(combined::contains)
+                    && SPAM_KEYWORDS.stream().noneMatch(combined::contains)) {
+                educational++;
+            }
+        }
+        return educational;
+    }
+
+    @Benchmark
+    public int automaton() {
+        int educational = 0;
+        for (VideoTileDTO tile : tiles) {
+            if (classifier.isEducational(tile.getTitle(), tile.getDescription(), tile.getChannelTitle())) {
+                educational++;
+            }
+        }
+        return educational;
+    }
+}
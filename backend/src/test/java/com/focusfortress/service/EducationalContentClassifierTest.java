@@ -0,0 +1,91 @@
+package com.focusfortress.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EducationalContentClassifierTest {
+
+    private final EducationalContentClassifier classifier = new EducationalContentClassifier(List.of(), 1);
+
+    @Test
+    void keywordsOnlyMatchWholeWords() {
+        // "vs" is a spam keyword, "canvas" merely contains it
+        assertThat(classifier.score("HTML canvas tutorial")).isEqualTo(1);
+        assertThat(classifier.isEducational("HTML canvas tutorial")).isTrue();
+
+        assertThat(classifier.score("Python vs Java tutorial")).isEqualTo(-9);
+        assertThat(classifier.isEducational("Python vs Java tutorial")).isFalse();
+    }
+
+    @Test
+    void exactKeywordsDoNotMatchLongerWords() {
+        assertThat(classifier.score("TED talk")).isEqualTo(1);
+        assertThat(classifier.score("A tedious start")).isZero();
+        assertThat(classifier.score("Getting started")).isZero();
+    }
+
+    @Test
+    void prefixKeywordsMatchLongerWordsFromTheirStart() {
+        assertThat(classifier.score("Learn")).isEqualTo(1);
+        assertThat(classifier.score("LEARNING Spanish")).isEqualTo(1);
+        assertThat(classifier.score("for learners")).isEqualTo(1);
+        assertThat(classifier.score("unlearn bad habits")).isZero();
+    }
+
+    @Test
+    void punctuationAndTheEndsOfTheTextAreWordBoundaries() {
+        assertThat(classifier.score("(lecture)")).isEqualTo(1);
+        assertThat(classifier.score("course—learn")).isEqualTo(2);
+        assertThat(classifier.score("vs.")).isEqualTo(-10);
+    }
+
+    @Test
+    void eachKeywordCountsOnceAcrossAllFields() {
+        assertThat(classifier.score("Lecture 1", "lecture notes", "Lectures")).isEqualTo(1);
+        assertThat(classifier.score("Philosophy of science", null, "University")).isEqualTo(3);
+    }
+
+    @Test
+    void spamOutweighsEducationalKeywords() {
+        assertThat(classifier.isEducational("Professor explained the drama in this lecture")).isFalse();
+    }
+
+    @Test
+    void singleSpamKeywordRulesOutAnyNumberOfEducationalOnes() {
+        String title = "University professor lecture: a science and philosophy course tutorial, " +
+                "explained like a documentary guide to learn at TED or the academy";
+        String description = "Educational reaction";
+
+        assertThat(classifier.score(title)).isEqualTo(13);
+        assertThat(classifier.score(title, description)).isEqualTo(4);
+        assertThat(classifier.isEducational(title)).isTrue();
+        assertThat(classifier.isEducational(title, description)).isFalse();
+    }
+
+    @Test
+    void textWithoutKeywordsIsNotEducational() {
+        assertThat(classifier.isEducational("My morning routine", null, "")).isFalse();
+        assertThat(classifier.isEducational()).isFalse();
+    }
+
+    @Test
+    void configuredKeywordsReplaceTheDefaults() {
+        EducationalContentClassifier custom = new EducationalContentClassifier(
+                List.of("math*:2", " proof ", "meme*:-5"), 2);
+
+        assertThat(custom.score("Mathematics proof")).isEqualTo(3);
+        assertThat(custom.isEducational("Proof")).isFalse();
+        assertThat(custom.isEducational("Math memes")).isFalse();
+        assertThat(custom.score("lecture")).isZero();
+    }
+
+    @Test
+    void emptyKeywordsAreRejected() {
+        assertThatThrownBy(() -> new EducationalContentClassifier(List.of("*:1"), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.EmailOutboxMessage;
+import com.focusfortress.model.EmailOutboxStatus;
+import com.focusfortress.repository.EmailOutboxMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EmailOutboxService.class)
+class EmailOutboxServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private EmailOutboxMessageRepository outboxRepository;
+
+    @Test
+    void claimedMessagesAreNotClaimedAgainWhileLeased() {
+        enqueue(3);
+
+        assertThat(outboxService.claimDue(10, LEASE)).hasSize(3);
+        assertThat(outboxService.claimDue(10, LEASE)).isEmpty();
+    }
+
+    @Test
+    void leaseWithTheSameTimestampOnlyReturnsTheRowsItClaimed() {
+        enqueue(2);
+        List<Long> ids = outboxRepository.findAll().stream().map(EmailOutboxMessage::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        int first = outboxRepository.lease(ids, EmailOutboxStatus.PENDING, now, now.plus(LEASE), "first");
+        int second = outboxRepository.lease(ids, EmailOutboxStatus.PENDING, now, now.plus(LEASE), "second");
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isZero();
+        assertThat(outboxRepository.findByClaimToken("first")).hasSize(2);
+        assertThat(outboxRepository.findByClaimToken("second")).isEmpty();
+    }
+
+    @Test
+    void purgeSentDeletesOnlySentMessagesOlderThanTheCutoff() {
+        enqueue(3);
+        List<EmailOutboxMessage> claimed = outboxService.claimDue(2, LEASE);
+        outboxService.markSent(claimed.stream().map(EmailOutboxMessage::getId).toList(), claimed.get(0).getClaimToken());
+
+        assertThat(outboxService.purgeSent(LocalDateTime.now().minusDays(1), 10)).isZero();
+        assertThat(outboxService.purgeSent(LocalDateTime.now().plusSeconds(1), 10)).isEqualTo(2);
+        assertThat(outboxRepository.findAll()).singleElement()
+                .extracting(EmailOutboxMessage::getStatus).isEqualTo(EmailOutboxStatus.PENDING);
+    }
+
+    @Test
+    void claimWhoseLeaseWasTakenOverDoesNotRecordTheOutcome() {
+        enqueue(1);
+        EmailOutboxMessage claimed = outboxService.claimDue(10, LEASE).get(0);
+        String expiredToken = claimed.getClaimToken();
+        // The lease ran out while the first claim was still sending, and another dispatcher claimed the message
+        LocalDateTime afterLease = LocalDateTime.now().plus(LEASE).plusSeconds(1);
+        outboxRepository.lease(List.of(claimed.getId()), EmailOutboxStatus.PENDING, afterLease,
+                afterLease.plus(LEASE), "second");
+
+        outboxService.markSent(List.of(claimed.getId()), expiredToken);
+        assertThat(outboxService.markFailed(claimed.getId(), expiredToken, "SMTP down", 1, Duration.ofSeconds(30))).isFalse();
+
+        assertThat(outboxRepository.countByStatus(EmailOutboxStatus.SENT)).isZero();
+        assertThat(outboxRepository.countByStatus(EmailOutboxStatus.FAILED)).isZero();
+        assertThat(outboxRepository.findByClaimToken("second")).hasSize(1);
+    }
+
+    @Test
+    void claimHoldingTheLeaseRecordsTheOutcome() {
+        enqueue(2);
+        List<EmailOutboxMessage> claimed = outboxService.claimDue(10, LEASE);
+        String claimToken = claimed.get(0).getClaimToken();
+
+        outboxService.markSent(List.of(claimed.get(0).getId()), claimToken);
+        assertThat(outboxService.markFailed(claimed.get(1).getId(), claimToken, "SMTP down", 1, Duration.ofSeconds(30))).isTrue();
+
+        assertThat(outboxRepository.countByStatus(EmailOutboxStatus.SENT)).isEqualTo(1);
+        assertThat(outboxRepository.countByStatus(EmailOutboxStatus.FAILED)).isEqualTo(1);
+    }
+
+    private void enqueue(int count) {
+        for (int i = 0; i < count; i++) {
+            outboxService.enqueue("user" + i + "@example.com", "Subject", "<p>Body</p>");
+        }
+        outboxRepository.flush();
+    }
+}
@@ -0,0 +1,128 @@
+package com.focusfortress.service;
+
+import com.focusfortress.repository.HabitProgressRepository;
+import com.focusfortress.repository.HabitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not run in a test transaction: markDone commits its own, which fails if the duplicate day marked it for rollback
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({HabitProgressService.class, UserClock.class})
+class HabitProgressServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final long HABIT_ID = 1L;
+
+    @Autowired
+    private HabitProgressService habitProgressService;
+
+    @Autowired
+    private HabitProgressRepository habitProgressRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private UserClock userClock;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private UserStatsService userStatsService;
+
+    @BeforeEach
+    void createHabit() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'Ada', 'ada@example.com')", USER_ID);
+        jdbcTemplate.update("INSERT INTO habits (id, user_id, name, done, duration_days, current_streak, longest_streak) " +
+                "VALUES (?, ?, 'Read', false, 30, 0, 0)", HABIT_ID, USER_ID);
+    }
+
+    @AfterEach
+    void deleteHabit() {
+        jdbcTemplate.update("DELETE FROM habit_progress");
+        jdbcTemplate.update("DELETE FROM habits");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void markingDoneTwiceRecordsTheDayOnce() {
+        assertThat(habitProgressService.markDone(HABIT_ID, USER_ID)).isEqualTo(1);
+        assertThat(habitProgressService.markDone(HABIT_ID, USER_ID)).isEqualTo(1);
+
+        assertThat(recordedDays()).isEqualTo(1);
+    }
+
+    @Test
+    void callLosingTheRaceStillCommits() {
+        // A concurrent call recorded today before this one read the habit
+        jdbcTemplate.update("INSERT INTO habit_progress (habit_id, date) VALUES (?, ?)", HABIT_ID, userClock.today(USER_ID));
+
+        assertThat(habitProgressService.markDone(HABIT_ID, USER_ID)).isEqualTo(1);
+        assertThat(recordedDays()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheUniqueKeyIsTreatedAsAlreadyRecorded() {
+        LocalDate day = LocalDate.of(2025, 1, 1);
+
+        assertThat(habitProgressRepository.insertIfAbsent(HABIT_ID, day)).isTrue();
+        assertThat(habitProgressRepository.insertIfAbsent(HABIT_ID, day)).isFalse();
+        assertThatThrownBy(() -> habitProgressRepository.insertIfAbsent(999L, day))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void rebuildRepairsDriftedStreaks() {
+        LocalDate today = userClock.today(USER_ID);
+        jdbcTemplate.update("INSERT INTO habit_progress (habit_id, date) VALUES (?, ?), (?, ?), (?, ?)",
+                HABIT_ID, today.minusDays(4), HABIT_ID, today.minusDays(1), HABIT_ID, today);
+
+        HabitProgressService.StreakRebuildBatch batch = habitProgressService.rebuildStreaks(0L, 10);
+
+        assertThat(batch.corrected()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap("SELECT current_streak, longest_streak, last_done_date, name FROM habits"))
+                .containsEntry("current_streak", 2)
+                .containsEntry("longest_streak", 2)
+                .containsEntry("last_done_date", Date.valueOf(today))
+                .containsEntry("name", "Read");
+    }
+
+    @Test
+    void rebuiltStateIsNotWrittenOverAStreakChangedSinceItWasRead() {
+        LocalDate today = userClock.today(USER_ID);
+        // markDone committed after the rebuild read the habit with no streak
+        habitProgressService.markDone(HABIT_ID, USER_ID);
+
+        int updated = new TransactionTemplate(transactionManager).execute(status ->
+                habitRepository.updateStreakStateIfUnchanged(HABIT_ID, 0, 0, null, 0, 0, null));
+
+        assertThat(updated).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT last_done_date FROM habits", LocalDate.class)).isEqualTo(today);
+    }
+
+    private int recordedDays() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habit_progress WHERE habit_id = ?", Integer.class, HABIT_ID);
+    }
+}
@@ -0,0 +1,76 @@
+package com.focusfortress.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyKeyStoreTest {
+
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(new SimpleMeterRegistry(), 24, 100);
+    private final ExecutorService requests = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        requests.shutdownNow();
+    }
+
+    @Test
+    void retryArrivingWhileTheFirstCallRunsWaitsForItsResult() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        Future<Integer> first = requests.submit(() -> store.execute(1L, "habit-done:1", "key", Integer.class, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(finish);
+            return 5;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> retry = requests.submit(() -> store.execute(1L, "habit-done:1", "key", Integer.class, () -> {
+            runs.incrementAndGet();
+            return 6;
+        }));
+        finish.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(5);
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo(5);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void failedCallReleasesTheKey() {
+        assertThatThrownBy(() -> store.execute(1L, "habit-done:1", "key", Integer.class, () -> {
+            throw new IllegalStateException("Database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.execute(1L, "habit-done:1", "key", Integer.class, () -> 5)).isEqualTo(5);
+        assertThat(store.execute(1L, "habit-done:1", "key", Integer.class, () -> 6)).isEqualTo(5);
+    }
+
+    @Test
+    void keysAreScopedToTheUserAndOperation() {
+        assertThat(store.execute(1L, "habit-done:1", "key", Integer.class, () -> 5)).isEqualTo(5);
+
+        assertThat(store.execute(2L, "habit-done:1", "key", Integer.class, () -> 6)).isEqualTo(6);
+        assertThat(store.execute(1L, "habit-done:2", "key", Integer.class, () -> 7)).isEqualTo(7);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.focusfortress.service;
+
+import com.focusfortress.model.ReportRun;
+import com.focusfortress.model.ReportSettings;
+import com.focusfortress.model.User;
+import com.focusfortress.repository.ReportRunRepository;
+import com.focusfortress.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReportSchedulerTest {
+
+    private final ReportService reportService = mock(ReportService.class);
+    private final ReportRunRepository reportRunRepository = mock(ReportRunRepository.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+    // Users due for this week's report with their timezone setting, and the ones whose report fails to send
+    private final Map<Long, String> due = new HashMap<>();
+    private final Set<Long> failing = new HashSet<>();
+    private final Map<String, ReportRun> runs = new HashMap<>();
+
+    private ReportScheduler scheduler;
+
+    @BeforeEach
+    void createScheduler() {
+        when(reportService.findAutomaticReportTimezones(anyString())).thenAnswer(invocation ->
+                ReportScheduler.WEEKLY.equals(invocation.getArgument(0)) ? List.copyOf(new HashSet<>(due.values())) : List.of());
+        when(reportService.findDueAutomaticReports(anyString(), any(), any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            String frequency = invocation.getArgument(0);
+            Collection<String> timezones = invocation.getArgument(1);
+            long afterId = invocation.getArgument(3);
+            int limit = invocation.getArgument(4);
+            return ReportScheduler.WEEKLY.equals(frequency)
+                    ? due.keySet().stream()
+                            .filter(id -> id > afterId && timezones.contains(due.get(id)))
+                            .sorted().limit(limit).map(ReportSchedulerTest::settings).toList()
+                    : List.of();
+        });
+        when(reportService.sendAutomaticReport(any(), any())).thenAnswer(invocation -> {
+            Long id = invocation.<ReportSettings>getArgument(0).getId();
+            if (failing.contains(id)) {
+                throw new IllegalStateException("SMTP down");
+            }
+            due.remove(id);
+            return true;
+        });
+        when(reportRunRepository.findByFrequencyAndPeriodStartAndTimezone(anyString(), any(), anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(runs.get(
+                        invocation.<String>getArgument(0) + " " + invocation.<String>getArgument(2))));
+        when(reportRunRepository.save(any())).thenAnswer(invocation -> {
+            ReportRun run = invocation.getArgument(0);
+            runs.put(run.getFrequency() + " " + run.getTimezone(), run);
+            return run;
+        });
+
+        UserClock userClock = new UserClock(mock(UserRepository.class));
+        scheduler = new ReportScheduler(reportService, reportRunRepository, userClock, new SimpleMeterRegistry(),
+                taskScheduler, 2, 2, true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void runFinishesOnceEveryDueUserIsReported() {
+        dueInDefaultZone(1L, 2L, 3L);
+
+        scheduler.runDueReports();
+
+        assertThat(due).isEmpty();
+        assertThat(weeklyRun(UserClock.DEFAULT_TIMEZONE).getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void usersWhoseReportFailedAreRetriedByTheNextRun() {
+        dueInDefaultZone(1L, 2L, 3L);
+        failing.add(2L);
+
+        scheduler.runDueReports();
+
+        ReportRun run = weeklyRun(UserClock.DEFAULT_TIMEZONE);
+        assertThat(due).containsOnlyKeys(2L);
+        assertThat(run.getFinishedAt()).isNull();
+        assertThat(run.getLastSettingsId()).isZero();
+
+        failing.clear();
+        scheduler.runDueReports();
+
+        assertThat(due).isEmpty();
+        assertThat(run.getFinishedAt()).isNotNull();
+        verify(reportService, times(2)).sendAutomaticReport(argThat(settings -> settings.getId() == 2L), any());
+        verify(reportService, times(1)).sendAutomaticReport(argThat(settings -> settings.getId() == 1L), any());
+    }
+
+    @Test
+    void eachZoneHasARunStartingAtItsOwnMidnight() {
+        // Unset and blank timezones are the default zone's users
+        due.put(1L, "");
+        due.put(2L, UserClock.DEFAULT_TIMEZONE);
+        due.put(3L, "Pacific/Kiritimati");
+        due.put(4L, "Pacific/Pago_Pago");
+
+        scheduler.runDueReports();
+
+        assertThat(due).isEmpty();
+        assertThat(runs).containsOnlyKeys(
+                ReportScheduler.WEEKLY + " " + UserClock.DEFAULT_TIMEZONE,
+                ReportScheduler.WEEKLY + " Pacific/Kiritimati",
+                ReportScheduler.WEEKLY + " Pacific/Pago_Pago");
+        for (String timezone : List.of(UserClock.DEFAULT_TIMEZONE, "Pacific/Kiritimati", "Pacific/Pago_Pago")) {
+            LocalDateTime periodStart = periodStartQueriedFor(timezone);
+            LocalDateTime localStart = periodStart.atZone(ZoneId.systemDefault())
+                    .withZoneSameInstant(ZoneId.of(timezone))
+                    .toLocalDateTime();
+            assertThat(localStart.toLocalTime()).isEqualTo(LocalTime.MIDNIGHT);
+            assertThat(localStart.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+            assertThat(localStart.toLocalDate()).isEqualTo(weeklyRun(timezone).getPeriodStart());
+        }
+    }
+
+    @Test
+    void startupResumeRunsOnTheScheduler() {
+        scheduler.resumeOnStartup();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        verifyNoInteractions(reportService);
+    }
+
+    private void dueInDefaultZone(Long... ids) {
+        for (Long id : ids) {
+            due.put(id, UserClock.DEFAULT_TIMEZONE);
+        }
+    }
+
+    private ReportRun weeklyRun(String timezone) {
+        return runs.get(ReportScheduler.WEEKLY + " " + timezone);
+    }
+
+    private LocalDateTime periodStartQueriedFor(String timezone) {
+        ArgumentCaptor<LocalDateTime> periodStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportService, atLeastOnce()).findDueAutomaticReports(eq(ReportScheduler.WEEKLY),
+                argThat(timezones -> timezones.contains(timezone)), periodStart.capture(), anyLong(), anyInt());
+        assertThat(periodStart.getAllValues()).containsOnly(periodStart.getValue());
+        return periodStart.getValue();
+    }
+
+    private static ReportSettings settings(Long id) {
+        User user = new User();
+        user.setId(id);
+        ReportSettings settings = new ReportSettings();
+        settings.setId(id);
+        settings.setUser(user);
+        return settings;
+    }
+}
@@ -0,0 +1,69 @@
+package com.focusfortress.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for the YouTube Data API: answers every request with the body the handler picks for its URI
+ * and records the URIs it was called with.
+ */
+class StubYouTubeServer implements AutoCloseable {
+
+    static {
+        // Without it, delayed ACKs stall every response by ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    record Response(int status, byte[] body) {
+
+        static Response ok(String json) {
+            return new Response(200, json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private final HttpServer server;
+    private final List<URI> requests = new CopyOnWriteArrayList<>();
+
+    StubYouTubeServer(Function<URI, Response> handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/", exchange -> respond(exchange, handler));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    List<URI> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, Function<URI, Response> handler) throws IOException {
+        URI uri = exchange.getRequestURI();
+        requests.add(uri);
+        Response response = handler.apply(uri);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(response.status(), response.body().length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response.body());
+        }
+    }
+}
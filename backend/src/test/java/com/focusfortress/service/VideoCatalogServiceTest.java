@@ -0,0 +1,112 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import com.focusfortress.exception.NotFoundException;
+import com.focusfortress.exception.QuotaExceededException;
+import com.focusfortress.exception.ServiceUnavailableException;
+import com.focusfortress.model.Video;
+import com.focusfortress.repository.VideoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Not run in a test transaction: getOrCreate stores videos in transactions of its own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(VideoCatalogService.class)
+class VideoCatalogServiceTest {
+
+    private static final VideoTileDTO CALCULUS = new VideoTileDTO("abc123", "Calculus lecture", "MIT",
+            "https://i.ytimg.com/vi/abc123/hqdefault.jpg", "Limits", null);
+
+    @Autowired
+    private VideoCatalogService videoCatalogService;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private YouTubeApiClient youTubeApiClient;
+
+    @AfterEach
+    void deleteVideos() {
+        videoRepository.deleteAll();
+    }
+
+    @Test
+    void newVideosAreCreatedFromYouTubeMetadata() {
+        when(youTubeApiClient.fetchVideo("abc123")).thenReturn(Optional.of(CALCULUS));
+
+        Video video = videoCatalogService.getOrCreate("abc123");
+
+        assertThat(video.getTitle()).isEqualTo("Calculus lecture");
+        assertThat(videoRepository.findById("abc123")).get()
+                .extracting(Video::getChannelTitle).isEqualTo("MIT");
+    }
+
+    @Test
+    void knownVideosAreNotFetchedAgain() {
+        videoRepository.saveAndFlush(Video.builder().videoId("known").title("Known").build());
+
+        assertThat(videoCatalogService.getOrCreate("known").getTitle()).isEqualTo("Known");
+        verify(youTubeApiClient, never()).fetchVideo(anyString());
+    }
+
+    @Test
+    void unknownVideosAreRejected() {
+        when(youTubeApiClient.fetchVideo("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> videoCatalogService.getOrCreate("missing")).isInstanceOf(NotFoundException.class);
+        assertThat(videoRepository.existsById("missing")).isFalse();
+    }
+
+    @Test
+    void nothingIsStoredWhileYouTubeIsUnavailable() {
+        when(youTubeApiClient.fetchVideo("abc123")).thenThrow(new QuotaExceededException("quota"));
+
+        assertThatThrownBy(() -> videoCatalogService.getOrCreate("abc123")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(videoRepository.existsById("abc123")).isFalse();
+    }
+
+    @Test
+    void youTubeIsCalledOutsideTheCallersTransaction() {
+        when(youTubeApiClient.fetchVideo("abc123")).thenAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            return Optional.of(CALCULUS);
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> videoCatalogService.getOrCreate("abc123"));
+
+        assertThat(videoRepository.existsById("abc123")).isTrue();
+    }
+
+    @Test
+    void videoStoredByAConcurrentRequestIsReadBack() {
+        when(youTubeApiClient.fetchVideo("abc123")).thenAnswer(invocation -> {
+            // The other request stores the video while this one waits for YouTube
+            videoRepository.save(Video.builder().videoId("abc123").title("Stored first").build());
+            return Optional.of(CALCULUS);
+        });
+
+        assertThat(videoCatalogService.getOrCreate("abc123").getTitle()).isEqualTo("Stored first");
+        assertThat(videoRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.focusfortress.service;
+
+import com.focusfortress.dto.VideoTileDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YouTubeApiClientTest {
+
+    private static final String EMPTY = "{\"items\":[]}";
+    private static final String ONE_VIDEO = """
+            {"items":[{"id":{"videoId":"abc123"},"snippet":{"title":"Calculus lecture","description":"Limits",
+            "channelTitle":"MIT","thumbnails":{"high":{"url":"https://i.ytimg.com/vi/abc123/hqdefault.jpg"}}}}]}""";
+
+    private StubYouTubeServer server;
+    private YouTubeApiClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    void chargesOneSearchWhenTheCategorySearchHasResults() throws IOException {
+        start(uri -> StubYouTubeServer.Response.ok(ONE_VIDEO));
+        AtomicInteger spent = new AtomicInteger();
+
+        List<VideoTileDTO> tiles = client.searchEducationalVideos("calculus", 10, spent::addAndGet);
+
+        assertThat(tiles).extracting(VideoTileDTO::getVideoId).containsExactly("abc123");
+        assertThat(spent).hasValue(YouTubeApiClient.SEARCH_QUOTA_COST);
+        assertThat(server.requests()).hasSize(1);
+    }
+
+    @Test
+    void chargesTheFallbackSearchToo() throws IOException {
+        start(uri -> StubYouTubeServer.Response.ok(uri.getQuery().contains("videoCategoryId") ? EMPTY : ONE_VIDEO));
+        AtomicInteger spent = new AtomicInteger();
+
+        List<VideoTileDTO> tiles = client.searchEducationalVideos("calculus", 10, spent::addAndGet);
+
+        assertThat(tiles).hasSize(1);
+        assertThat(spent).hasValue(YouTubeApiClient.EDUCATIONAL_SEARCH_MAX_QUOTA_COST);
+        assertThat(server.requests()).hasSize(2);
+    }
+
+    @Test
+    void quotaIsOnlyTakenWhenTheSearchIsSubscribed() throws IOException {
+        // Room for exactly one search
+        start(uri -> StubYouTubeServer.Response.ok(ONE_VIDEO), YouTubeApiClient.SEARCH_QUOTA_COST);
+
+        Mono<List<VideoTileDTO>> abandoned = client.searchEducationalVideosAsync("calculus", 10);
+        List<VideoTileDTO> tiles = client.searchEducationalVideosAsync("calculus", 10).block();
+
+        assertThat(abandoned).isNotNull();
+        assertThat(tiles).hasSize(1);
+        assertThat(server.requests()).hasSize(1);
+    }
+
+    @Test
+    void fetchVideoReadsVideosListForOneQuotaUnit() throws IOException {
+        start(uri -> StubYouTubeServer.Response.ok("""
+                {"items":[{"id":"abc123","snippet":{"title":"Calculus lecture","channelTitle":"MIT",
+                "thumbnails":{"medium":{"url":"https://i.ytimg.com/vi/abc123/mqdefault.jpg"}}}}]}"""));
+
+        Optional<VideoTileDTO> video = client.fetchVideo("abc123");
+
+        assertThat(video).get().extracting(VideoTileDTO::getTitle, VideoTileDTO::getThumbnailUrl)
+                .containsExactly("Calculus lecture", "https://i.ytimg.com/vi/abc123/mqdefault.jpg");
+        assertThat(server.requests()).singleElement().satisfies(uri -> {
+            assertThat(uri.getPath()).isEqualTo("/videos");
+            assertThat(uri.getQuery()).contains("id=abc123");
+        });
+    }
+
+    @Test
+    void fetchVideoIsEmptyForAnUnknownVideo() throws IOException {
+        start(uri -> StubYouTubeServer.Response.ok(EMPTY));
+
+        assertThat(client.fetchVideo("missing")).isEmpty();
+    }
+
+    private void start(Function<URI, StubYouTubeServer.Response> handler) throws IOException {
+        start(handler, 2_000);
+    }
+
+    private void start(Function<URI, StubYouTubeServer.Response> handler, long burstUnits) throws IOException {
+        server = new StubYouTubeServer(handler);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        client = new YouTubeApiClient("test-key", server.baseUrl(), 3000, 4, 30, false, 512,
+                new YouTubeQuotaGuard(meterRegistry, 1, burstUnits),
+                new EducationalContentClassifier(List.of(), 1));
+    }
+}
@@ -0,0 +1,53 @@
+package com.focusfortress.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.focusfortress.dto.VideoTileDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A search through {@link YouTubeApiClient} end to end (pooled HTTP connection, body aggregation, streaming parse)
+ * against a local server replaying a recorded search.list response, so the client's own cost is measured without
+ * YouTube's latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class YouTubeSearchReplayBenchmark {
+
+    private StubYouTubeServer server;
+    private YouTubeApiClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        ((Logger) LoggerFactory.getLogger(YouTubeApiClient.class)).setLevel(Level.WARN);
+
+        byte[] recording;
+        try (InputStream in = getClass().getResourceAsStream("/youtube/search-list-fields.json")) {
+            recording = in.readAllBytes();
+        }
+        server = new StubYouTubeServer(uri -> new StubYouTubeServer.Response(200, recording));
+        client = new YouTubeApiClient("benchmark-key", server.baseUrl(), 3000, 16, 30, false, 512,
+                new YouTubeQuotaGuard(new SimpleMeterRegistry(), Long.MAX_VALUE, Long.MAX_VALUE),
+                new EducationalContentClassifier(List.of(), 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public List<VideoTileDTO> search() {
+        return client.searchEducationalVideosAsync("linear algebra", 25).block();
+    }
+}
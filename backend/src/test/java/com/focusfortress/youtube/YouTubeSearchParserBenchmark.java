@@ -0,0 +1,60 @@
+package com.focusfortress.youtube;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusfortress.dto.VideoTileDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding recorded search.list responses: the streaming parser against a full {@link ObjectMapper} tree, which
+ * is what binding the response to DTOs costs, on both the full response and the one trimmed by the fields parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class YouTubeSearchParserBenchmark {
+
+    @Param({"search-list-full.json", "search-list-fields.json"})
+    public String recording;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/youtube/" + recording)) {
+            body = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public List<VideoTileDTO> streaming() throws IOException {
+        return YouTubeSearchParser.parseTiles(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public List<VideoTileDTO> tree() throws IOException {
+        List<VideoTileDTO> tiles = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(body).path("items")) {
+            String videoId = item.path("id").path("videoId").asText(null);
+            if (videoId == null) {
+                continue;
+            }
+            JsonNode snippet = item.path("snippet");
+            JsonNode thumbnails = snippet.path("thumbnails");
+            String thumbnailUrl = thumbnails.path("high").path("url").asText(null);
+            tiles.add(new VideoTileDTO(videoId, snippet.path("title").asText(null),
+                    snippet.path("channelTitle").asText(null),
+                    thumbnailUrl != null ? thumbnailUrl : thumbnails.path("medium").path("url").asText(null),
+                    snippet.path("description").asText(null), null));
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,85 @@
+package com.focusfortress.youtube;
+
+import com.focusfortress.dto.VideoTileDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YouTubeSearchParserTest {
+
+    @Test
+    void parsesEveryVideoOfARecordedResponse() throws IOException {
+        List<VideoTileDTO> tiles = parse("search-list-full.json");
+
+        // 25 results, one of them a channel and one a playlist
+        assertThat(tiles).hasSize(23);
+        assertThat(tiles.get(0)).satisfies(tile -> {
+            assertThat(tile.getVideoId()).isEqualTo("pTyGJMuHbEL");
+            assertThat(tile.getTitle()).isEqualTo("Linear Algebra – Lecture 1: Introduction & Key Ideas");
+            assertThat(tile.getChannelTitle()).isEqualTo("MIT OpenCourseWare");
+            assertThat(tile.getDescription()).startsWith("In this lecture we cover the fundamentals of linear algebra.");
+            assertThat(tile.getThumbnailUrl()).isEqualTo("https://i.ytimg.com/vi/pTyGJMuHbEL/hqdefault.jpg");
+            assertThat(tile.getMatchedInterest()).isNull();
+        });
+    }
+
+    @Test
+    void skipsChannelsAndPlaylists() throws IOException {
+        assertThat(parse("search-list-full.json")).extracting(VideoTileDTO::getTitle)
+                .noneMatch(title -> title.startsWith("Quantum Physics"))
+                .noneMatch(title -> title.startsWith("Astronomy"));
+    }
+
+    @Test
+    void fallsBackToTheMediumThumbnail() throws IOException {
+        VideoTileDTO musicTheory = parse("search-list-full.json").stream()
+                .filter(tile -> tile.getTitle().startsWith("Music Theory"))
+                .findFirst().orElseThrow();
+
+        assertThat(musicTheory.getThumbnailUrl()).isEqualTo("https://i.ytimg.com/vi/" + musicTheory.getVideoId() + "/mqdefault.jpg");
+    }
+
+    @Test
+    void keepsEscapedAndNonAsciiCharacters() throws IOException {
+        assertThat(parse("search-list-full.json")).extracting(VideoTileDTO::getTitle)
+                .contains("Python Programming Tutorial – \"Hello, World!\" for Beginners 🐍");
+    }
+
+    @Test
+    void theFieldsProjectionParsesToTheSameTiles() throws IOException {
+        assertThat(parse("search-list-fields.json"))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(parse("search-list-full.json"));
+    }
+
+    @Test
+    void emptyResponsesHaveNoTiles() throws IOException {
+        assertThat(parse("search-list-empty.json")).isEmpty();
+        assertThat(parse("error-quota-exceeded.json")).isEmpty();
+        assertThat(YouTubeSearchParser.parseTiles(new ByteArrayInputStream(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void videosListItemsCarryTheIdAsAString() throws IOException {
+        String body = """
+                {"items":[{"id":"abc123","snippet":{"title":"Calculus","description":"Limits","channelTitle":"MIT",
+                "thumbnails":{"high":{"url":"https://i.ytimg.com/vi/abc123/hqdefault.jpg"}}}}]}""";
+
+        List<VideoTileDTO> tiles = YouTubeSearchParser.parseTiles(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(tiles).singleElement().extracting(VideoTileDTO::getVideoId).isEqualTo("abc123");
+    }
+
+    static List<VideoTileDTO> parse(String recording) throws IOException {
+        try (InputStream in = YouTubeSearchParserTest.class.getResourceAsStream("/youtube/" + recording)) {
+            return YouTubeSearchParser.parseTiles(in);
+        }
+    }
+}
@@ -4,12 +4,18 @@ import { Image, RefreshCw, BookmarkPlus, Play, CheckCircle } from 'lucide-react'
 import VideoTile from './VideoTile';
 import InterestChip from './InterestChip';
 
+const LIBRARY_STATUSES = ['WATCH_LATER', 'CURRENTLY_WATCHING', 'FINISHED'];
+const LIBRARY_PAGE_SIZE = 24;
+
 const MyMedia = () => {
   const [library, setLibrary] = useState({
     WATCH_LATER: [],
     CURRENTLY_WATCHING: [],
     FINISHED: []
   });
+  // Cursor of each section's next page; null once the section is fully loaded
+  const [libraryCursors, setLibraryCursors] = useState({});
+  const [loadingMore, setLoadingMore] = useState({});
   const [loadingLibrary, setLoadingLibrary] = useState(true);
   const [recommendations, setRecommendations] = useState([]);
   const [interests, setInterests] = useState([]);
@@ -146,19 +152,26 @@ const MyMedia = () => {
     setRefreshLimitReached(newCount >= MAX_DAILY_REFRESHES);
   };
 
-  const fetchLibrary = async () => {
-    setLoadingLibrary(true);
-    try {
-      const res = await api.get('/media/library');
-      const items = res.data || [];
+  const fetchLibraryPage = async (status, cursor) => {
+    const res = await api.get('/media/library', { params: { status, cursor, limit: LIBRARY_PAGE_SIZE } });
+    return { items: res.data?.items || [], nextCursor: res.data?.nextCursor || null };
+  };
 
-      const grouped = {
-        WATCH_LATER: items.filter(item => item.status === 'WATCH_LATER'),
-        CURRENTLY_WATCHING: items.filter(item => item.status === 'CURRENTLY_WATCHING'),
-        FINISHED: items.filter(item => item.status === 'FINISHED')
-      };
+  // Loads the first page of the given sections; further pages are loaded with "Load more"
+  const fetchLibrary = async (statuses = LIBRARY_STATUSES) => {
+    try {
+      const pages = await Promise.all(statuses.map(status => fetchLibraryPage(status, null)));
 
-      setLibrary(grouped);
+      setLibrary(prev => {
+        const updated = { ...prev };
+        statuses.forEach((status, i) => { updated[status] = pages[i].items; });
+        return updated;
+      });
+      setLibraryCursors(prev => {
+        const updated = { ...prev };
+        statuses.forEach((status, i) => { updated[status] = pages[i].nextCursor; });
+        return updated;
+      });
       setError(null);
     } catch (e) {
       console.error('Failed to fetch library:', e);
@@ -168,6 +181,25 @@ const MyMedia = () => {
     }
   };
 
+  const handleLoadMore = async (status) => {
+    const cursor = libraryCursors[status];
+    if (!cursor || loadingMore[status]) {
+      return;
+    }
+
+    setLoadingMore(prev => ({ ...prev, [status]: true }));
+    try {
+      const page = await fetchLibraryPage(status, cursor);
+      setLibrary(prev => ({ ...prev, [status]: [...prev[status], ...page.items] }));
+      setLibraryCursors(prev => ({ ...prev, [status]: page.nextCursor }));
+    } catch (e) {
+      console.error('Failed to load more videos:', e);
+      alert('Failed to load more videos');
+    } finally {
+      setLoadingMore(prev => ({ ...prev, [status]: false }));
+    }
+  };
+
   const fetchInterests = async () => {
     try {
       const res = await api.get('/user/interests');
@@ -184,10 +216,6 @@ const MyMedia = () => {
     try {
       await api.post('/media/library', {
         videoId: video.videoId,
-        title: video.title,
-        channelTitle: video.channelTitle,
-        thumbnailUrl: video.thumbnailUrl,
-        description: video.description,
         matchedInterest: video.matchedInterest,
         status: status
       });
@@ -202,7 +230,7 @@ const MyMedia = () => {
         });
       }, 3000);
 
-      await fetchLibrary();
+      await fetchLibrary([status]);
     } catch (e) {
       console.error('Failed to add to library:', e);
       if (e.response?.data?.message) {
@@ -213,26 +241,27 @@ const MyMedia = () => {
     }
   };
 
-  const handleChangeStatus = async (itemId, newStatus) => {
+  const handleChangeStatus = async (item, newStatus) => {
     try {
-      await api.patch(`/media/library/${itemId}/status`, {
+      await api.patch(`/media/library/${item.id}/status`, {
         status: newStatus
       });
-      await fetchLibrary();
+      await fetchLibrary([item.status, newStatus]);
     } catch (e) {
       console.error('Failed to change status:', e);
       alert('Failed to update video status');
     }
   };
 
-  const handleDeleteFromLibrary = async (itemId) => {
+  const handleDeleteFromLibrary = async (item) => {
     if (!window.confirm('Remove this video from your library?')) {
       return;
     }
 
     try {
-      await api.delete(`/media/library/${itemId}`);
-      await fetchLibrary();
+      await api.delete(`/media/library/${item.id}`);
+      // Later pages are read after the last loaded item, so removing it locally keeps the cursor valid
+      setLibrary(prev => ({ ...prev, [item.status]: prev[item.status].filter(other => other.id !== item.id) }));
     } catch (e) {
       console.error('Failed to delete from library:', e);
       alert('Failed to remove video');
@@ -313,6 +342,7 @@ const MyMedia = () => {
 
   const renderLibrarySection = (status, title, icon, emptyMessage) => {
     const items = library[status] || [];
+    const hasMore = Boolean(libraryCursors[status]);
     const Icon = icon;
 
     return (
@@ -320,7 +350,7 @@ const MyMedia = () => {
         <div style={{ display: 'flex', alignItems: 'center', gap: '12px', marginBottom: '20px' }}>
           <Icon size={24} color="#ff6b35" />
           <h2 style={{ margin: 0, fontSize: '24px', color: '#333' }}>
-            {title} ({items.length})
+            {title} ({items.length}{hasMore ? '+' : ''})
           </h2>
         </div>
 
@@ -347,12 +377,34 @@ const MyMedia = () => {
                 isInLibrary={true}
                 isRecentlyAdded={false}
                 currentStatus={item.status}
-                onChangeStatus={(newStatus) => handleChangeStatus(item.id, newStatus)}
-                onDelete={() => handleDeleteFromLibrary(item.id)}
+                onChangeStatus={(newStatus) => handleChangeStatus(item, newStatus)}
+                onDelete={() => handleDeleteFromLibrary(item)}
               />
             ))}
           </div>
         )}
+
+        {hasMore && (
+          <div style={{ textAlign: 'center', marginTop: '20px' }}>
+            <button
+              onClick={() => handleLoadMore(status)}
+              disabled={loadingMore[status]}
+              style={{
+                padding: '10px 24px',
+                background: 'white',
+                color: '#ff6b35',
+                border: '2px solid #ff6b35',
+                borderRadius: '12px',
+                fontSize: '15px',
+                fontWeight: 'bold',
+                cursor: loadingMore[status] ? 'not-allowed' : 'pointer',
+                opacity: loadingMore[status] ? 0.7 : 1
+              }}
+            >
+              {loadingMore[status] ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     );
   };
@@ -449,7 +501,7 @@ const MyMedia = () => {
           📚 My Library
         </h2>
 
-        {getTotalLibraryCount() === 0 ? (
+        {getTotalLibraryCount() === 0 && !LIBRARY_STATUSES.some(status => libraryCursors[status]) ? (
           <div style={{
             padding: '60px 40px',
             textAlign: 'center',